@@ -0,0 +1,99 @@
+package com.loanmanagement.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.loanmanagement.dto.response.AuditLogResponse;
+import com.loanmanagement.dto.response.NotificationResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Customisation of the application-wide ObjectMapper. Everything that writes JSON
+ * (MVC, security entry points, filters, audit values) injects that single instance.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Hand-written serializers for the hottest list endpoints (notifications, audit
+     * logs). They write fields straight to the generator instead of going through bean
+     * introspection; output is identical to the reflective path, so switching
+     * app.json.fast-serializers off is safe.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.fast-serializers", havingValue = "true", matchIfMissing = true)
+    public Jackson2ObjectMapperBuilderCustomizer fastResponseSerializers() {
+        return builder -> builder
+                .serializerByType(NotificationResponse.class, new NotificationResponseSerializer())
+                .serializerByType(AuditLogResponse.class, new AuditLogResponseSerializer());
+    }
+
+    static final class NotificationResponseSerializer extends StdSerializer<NotificationResponse> {
+
+        NotificationResponseSerializer() {
+            super(NotificationResponse.class);
+        }
+
+        @Override
+        public void serialize(NotificationResponse n, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, "id", n.getId());
+            gen.writeStringField("type", n.getType());
+            gen.writeStringField("title", n.getTitle());
+            gen.writeStringField("message", n.getMessage());
+            gen.writeBooleanField("isRead", n.isRead());
+            // Dates go through the mapper so they follow its configured format
+            provider.defaultSerializeField("createdAt", n.getCreatedAt(), gen);
+            provider.defaultSerializeField("readAt", n.getReadAt(), gen);
+            gen.writeStringField("relatedEntityType", n.getRelatedEntityType());
+            writeNumber(gen, "relatedEntityId", n.getRelatedEntityId());
+            gen.writeStringField("actionUrl", n.getActionUrl());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class AuditLogResponseSerializer extends StdSerializer<AuditLogResponse> {
+
+        AuditLogResponseSerializer() {
+            super(AuditLogResponse.class);
+        }
+
+        @Override
+        public void serialize(AuditLogResponse log, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, "id", log.getId());
+            writeNumber(gen, "userId", log.getUserId());
+            gen.writeStringField("userEmail", log.getUserEmail());
+            gen.writeStringField("userRole", log.getUserRole());
+            gen.writeStringField("action", log.getAction());
+            gen.writeStringField("entityType", log.getEntityType());
+            writeNumber(gen, "entityId", log.getEntityId());
+            gen.writeStringField("description", log.getDescription());
+            provider.defaultSerializeField("timestamp", log.getTimestamp(), gen);
+            gen.writeStringField("ipAddress", log.getIpAddress());
+            // Only present when a view asked for values, matching @JsonInclude(NON_NULL)
+            if (log.getOldValue() != null) {
+                gen.writeStringField("oldValue", log.getOldValue());
+            }
+            if (log.getNewValue() != null) {
+                gen.writeStringField("newValue", log.getNewValue());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.loanmanagement.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration to enable scheduling and async processing
@@ -13,4 +19,106 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class SchedulerConfig {
     // Configuration for scheduled tasks
     // Tasks are defined in LoanSchedulerService
+
+    /**
+     * Default executor for @Async methods. Declared explicitly so that adding
+     * dedicated pools below does not change where @Async work runs.
+     */
+    @Bean(name = "taskExecutor")
+    public ThreadPoolTaskExecutor taskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setThreadNamePrefix("task-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for async MVC requests (StreamingResponseBody report downloads).
+     * Declaring any Executor bean disables Boot's default applicationTaskExecutor, and
+     * MVC would then fall back to an unbounded SimpleAsyncTaskExecutor; Boot's MVC
+     * auto-configuration picks up a bean under this name instead. A full queue rejects
+     * the download with 429.
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${app.web.async.pool-size:16}") int poolSize,
+            @Value("${app.web.async.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for concurrent dashboard sub-queries.
+     * When saturated further sub-queries are rejected and reported as unavailable, so
+     * request threads never run them and the per-request deadline still holds.
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${app.dashboard.pool-size:8}") int poolSize,
+            @Value("${app.dashboard.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool for background report exports. The queue is bounded and rejected
+     * submissions surface as 429 so report bursts cannot exhaust memory or disk.
+     */
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${app.reports.jobs.pool-size:2}") int poolSize,
+            @Value("${app.reports.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for password verification during login, so BCrypt work cannot occupy
+     * every request thread. A full queue rejects the login with 429 instead of queueing.
+     */
+    @Bean(name = "loginExecutor")
+    public ThreadPoolTaskExecutor loginExecutor(
+            @Value("${app.security.login.pool-size:0}") int poolSize,
+            @Value("${app.security.login.queue-capacity:200}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Virtual threads for writing server-sent events. Each open stream parks a thread
+     * only while a send is in flight, so slow clients cost no platform threads.
+     */
+    @Bean(name = "notificationPushExecutor")
+    public SimpleAsyncTaskExecutor notificationPushExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -2,6 +2,7 @@ package com.loanmanagement.controller;
 
 import com.loanmanagement.dto.request.RegisterRequest;
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.DashboardResponse;
 import com.loanmanagement.dto.response.UserResponse;
 import com.loanmanagement.entity.Role;
@@ -40,8 +41,10 @@ public class AdminController {
 
     @GetMapping("/users")
     @Operation(summary = "Get all users")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserResponse> users = userService.getAllUsers(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
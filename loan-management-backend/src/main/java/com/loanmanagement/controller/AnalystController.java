@@ -1,18 +1,22 @@
 package com.loanmanagement.controller;
 
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.LoanResponse;
 import com.loanmanagement.dto.response.PaymentResponse;
 import com.loanmanagement.service.LoanService;
 import com.loanmanagement.service.PaymentService;
+import com.loanmanagement.service.PortfolioSnapshotService;
 import com.loanmanagement.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -26,11 +30,14 @@ public class AnalystController {
     private final LoanService loanService;
     private final PaymentService paymentService;
     private final ReportService reportService;
+    private final PortfolioSnapshotService snapshotService;
 
-    public AnalystController(LoanService loanService, PaymentService paymentService, ReportService reportService) {
+    public AnalystController(LoanService loanService, PaymentService paymentService, ReportService reportService,
+            PortfolioSnapshotService snapshotService) {
         this.loanService = loanService;
         this.paymentService = paymentService;
         this.reportService = reportService;
+        this.snapshotService = snapshotService;
     }
 
     @GetMapping("/reports/loans")
@@ -54,10 +61,21 @@ public class AnalystController {
         return ResponseEntity.ok(ApiResponse.success(analytics));
     }
 
+    @GetMapping("/reports/trends")
+    @Operation(summary = "Get daily portfolio KPI trends for charts")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPortfolioTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        Map<String, Object> trends = snapshotService.getTrends(startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(trends));
+    }
+
     @GetMapping("/loans")
     @Operation(summary = "Get all loans for analysis")
-    public ResponseEntity<ApiResponse<List<LoanResponse>>> getAllLoans() {
-        List<LoanResponse> loans = loanService.getAllLoans();
+    public ResponseEntity<ApiResponse<CursorPage<LoanResponse>>> getAllLoans(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<LoanResponse> loans = loanService.getAllLoans(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(loans));
     }
 
@@ -1,6 +1,7 @@
 package com.loanmanagement.controller;
 
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.AuditLogResponse;
 import com.loanmanagement.entity.AuditLog;
 import com.loanmanagement.service.AuditService;
 import org.springframework.data.domain.Page;
@@ -41,7 +42,7 @@ public class AuditController {
 
         Map<String, Object> response = new HashMap<>();
         response.put("logs", logsPage.getContent().stream()
-                .map(this::mapAuditLog)
+                .map(AuditLogResponse::fromEntity)
                 .collect(Collectors.toList()));
         response.put("currentPage", logsPage.getNumber());
         response.put("totalPages", logsPage.getTotalPages());
@@ -58,17 +59,17 @@ public class AuditController {
      * Get audit logs by date range
      */
     @GetMapping("/range")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getLogsByDateRange(
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getLogsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
 
         List<AuditLog> logs = auditService.getLogsByDateRange(startDate, endDate);
 
-        List<Map<String, Object>> response = logs.stream()
-                .map(this::mapAuditLog)
+        List<AuditLogResponse> response = logs.stream()
+                .map(AuditLogResponse::fromEntity)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
+        return ResponseEntity.ok(ApiResponse.<List<AuditLogResponse>>builder()
                 .success(true)
                 .message("Audit logs retrieved")
                 .data(response)
@@ -76,22 +77,40 @@ public class AuditController {
     }
 
     /**
-     * Get audit trail for a specific entity
+     * Get audit trail for a specific entity; values=true adds full old/new values
      */
     @GetMapping("/entity/{entityType}/{entityId}")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getEntityAuditTrail(
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getEntityAuditTrail(
             @PathVariable String entityType,
-            @PathVariable Long entityId) {
-
-        List<AuditLog> logs = auditService.getEntityAuditTrail(entityType.toUpperCase(), entityId);
+            @PathVariable Long entityId,
+            @RequestParam(defaultValue = "false") boolean values) {
+
+        List<AuditLogResponse> response;
+        if (values) {
+            response = auditService.getEntityAuditTrailWithValues(entityType.toUpperCase(), entityId);
+        } else {
+            response = auditService.getEntityAuditTrail(entityType.toUpperCase(), entityId).stream()
+                    .map(AuditLogResponse::fromEntity)
+                    .collect(Collectors.toList());
+        }
+
+        return ResponseEntity.ok(ApiResponse.<List<AuditLogResponse>>builder()
+                .success(true)
+                .message("Entity audit trail retrieved")
+                .data(response)
+                .build());
+    }
 
-        List<Map<String, Object>> response = logs.stream()
-                .map(this::mapAuditLog)
-                .collect(Collectors.toList());
+    /**
+     * Get one audit log with its full old/new values
+     */
+    @GetMapping("/{id}/values")
+    public ResponseEntity<ApiResponse<AuditLogResponse>> getLogWithValues(@PathVariable Long id) {
+        AuditLogResponse response = auditService.getLogWithValues(id);
 
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
+        return ResponseEntity.ok(ApiResponse.<AuditLogResponse>builder()
                 .success(true)
-                .message("Entity audit trail retrieved")
+                .message("Audit log retrieved")
                 .data(response)
                 .build());
     }
@@ -100,16 +119,16 @@ public class AuditController {
      * Get user activity log
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUserAuditTrail(
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getUserAuditTrail(
             @PathVariable Long userId) {
 
         List<AuditLog> logs = auditService.getUserAuditTrail(userId);
 
-        List<Map<String, Object>> response = logs.stream()
-                .map(this::mapAuditLog)
+        List<AuditLogResponse> response = logs.stream()
+                .map(AuditLogResponse::fromEntity)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
+        return ResponseEntity.ok(ApiResponse.<List<AuditLogResponse>>builder()
                 .success(true)
                 .message("User audit trail retrieved")
                 .data(response)
@@ -120,35 +139,19 @@ public class AuditController {
      * Get login history for an email
      */
     @GetMapping("/login-history")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getLoginHistory(
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getLoginHistory(
             @RequestParam String email) {
 
         List<AuditLog> logs = auditService.getLoginHistory(email);
 
-        List<Map<String, Object>> response = logs.stream()
-                .map(this::mapAuditLog)
+        List<AuditLogResponse> response = logs.stream()
+                .map(AuditLogResponse::fromEntity)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
+        return ResponseEntity.ok(ApiResponse.<List<AuditLogResponse>>builder()
                 .success(true)
                 .message("Login history retrieved")
                 .data(response)
                 .build());
     }
-
-    private Map<String, Object> mapAuditLog(AuditLog log) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", log.getId());
-        map.put("userId", log.getUserId());
-        map.put("userEmail", log.getUserEmail());
-        map.put("userRole", log.getUserRole());
-        map.put("action", log.getAction().name());
-        map.put("entityType", log.getEntityType());
-        map.put("entityId", log.getEntityId());
-        map.put("description", log.getDescription());
-        map.put("timestamp", log.getTimestamp());
-        map.put("ipAddress", log.getIpAddress());
-        // Exclude old/new values for list views to reduce payload
-        return map;
-    }
 }
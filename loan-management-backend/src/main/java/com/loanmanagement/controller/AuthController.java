@@ -4,13 +4,17 @@ import com.loanmanagement.dto.request.LoginRequest;
 import com.loanmanagement.dto.request.RegisterRequest;
 import com.loanmanagement.dto.response.ApiResponse;
 import com.loanmanagement.dto.response.AuthResponse;
+import com.loanmanagement.security.ClientIpResolver;
 import com.loanmanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "Authentication and registration endpoints")
@@ -31,9 +35,11 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Login and get JWT token")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = userService.login(request);
-        return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(
+            @Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // Password hashing runs on the login pool; the request thread is released meanwhile
+        return userService.loginAsync(request, ClientIpResolver.resolve(httpRequest))
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success("Login successful", response)));
     }
 
     @PostMapping("/refresh")
@@ -4,6 +4,7 @@ import com.loanmanagement.dto.request.CreditScoreRequest;
 import com.loanmanagement.dto.request.LoanApplicationRequest;
 import com.loanmanagement.dto.request.PaymentRequest;
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.CreditScoreResponse;
 import com.loanmanagement.dto.response.LoanApplicationResponse;
 import com.loanmanagement.dto.response.LoanResponse;
@@ -57,8 +58,10 @@ public class BorrowerController {
 
     @GetMapping("/loan-offers")
     @Operation(summary = "Get available loan offers")
-    public ResponseEntity<ApiResponse<List<LoanResponse>>> getAvailableLoanOffers() {
-        List<LoanResponse> offers = loanService.getAvailableLoanOffers();
+    public ResponseEntity<ApiResponse<CursorPage<LoanResponse>>> getAvailableLoanOffers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<LoanResponse> offers = loanService.getAvailableLoanOffers(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(offers));
     }
 
@@ -103,9 +106,11 @@ public class BorrowerController {
 
     @GetMapping("/payments")
     @Operation(summary = "Get all my payments")
-    public ResponseEntity<ApiResponse<List<PaymentResponse>>> getMyPayments() {
+    public ResponseEntity<ApiResponse<CursorPage<PaymentResponse>>> getMyPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         User borrower = userService.getCurrentUser();
-        List<PaymentResponse> payments = paymentService.getPaymentsByBorrower(borrower.getId());
+        CursorPage<PaymentResponse> payments = paymentService.getPaymentsByBorrower(borrower.getId(), cursor, size);
         return ResponseEntity.ok(ApiResponse.success(payments));
     }
 
@@ -2,6 +2,7 @@ package com.loanmanagement.controller;
 
 import com.loanmanagement.dto.request.EMICalculationRequest;
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.EMICalculationResponse;
 import com.loanmanagement.dto.response.EMIScheduleResponse;
 import com.loanmanagement.entity.EMISchedule;
@@ -132,14 +133,14 @@ public class EMIController {
      */
     @GetMapping("/overdue")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ResponseEntity<ApiResponse<List<EMIScheduleResponse>>> getAllOverdueEMIs() {
+    public ResponseEntity<ApiResponse<CursorPage<EMIScheduleResponse>>> getAllOverdueEMIs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<EMISchedule> overdueEMIs = emiScheduleService.getAllOverdueEMIs();
-        List<EMIScheduleResponse> response = overdueEMIs.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        CursorPage<EMIScheduleResponse> response = emiScheduleService.getAllOverdueEMIs(cursor, size)
+                .map(this::mapToResponse);
 
-        return ResponseEntity.ok(ApiResponse.<List<EMIScheduleResponse>>builder()
+        return ResponseEntity.ok(ApiResponse.<CursorPage<EMIScheduleResponse>>builder()
                 .success(true)
                 .message("Overdue EMIs retrieved")
                 .data(response)
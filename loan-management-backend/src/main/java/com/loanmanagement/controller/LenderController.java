@@ -2,6 +2,7 @@ package com.loanmanagement.controller;
 
 import com.loanmanagement.dto.request.CreateLoanRequest;
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.LoanApplicationResponse;
 import com.loanmanagement.dto.response.LoanResponse;
 import com.loanmanagement.dto.response.PaymentResponse;
@@ -59,9 +60,11 @@ public class LenderController {
 
     @GetMapping("/loans")
     @Operation(summary = "Get all loans created by this lender")
-    public ResponseEntity<ApiResponse<List<LoanResponse>>> getMyLoans() {
+    public ResponseEntity<ApiResponse<CursorPage<LoanResponse>>> getMyLoans(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         User lender = userService.getCurrentUser();
-        List<LoanResponse> loans = loanService.getLoansByLender(lender);
+        CursorPage<LoanResponse> loans = loanService.getLoansByLender(lender, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(loans));
     }
 
@@ -1,19 +1,17 @@
 package com.loanmanagement.controller;
 
 import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.CursorPage;
+import com.loanmanagement.dto.response.NotificationResponse;
 import com.loanmanagement.entity.Notification;
-import com.loanmanagement.entity.User;
+import com.loanmanagement.service.NotificationHub;
 import com.loanmanagement.service.NotificationService;
-import com.loanmanagement.service.UserService;
+import com.loanmanagement.security.UserPrincipal;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST API for managing user notifications
@@ -23,52 +21,60 @@ import java.util.stream.Collectors;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final UserService userService;
+    private final NotificationHub notificationHub;
 
-    public NotificationController(NotificationService notificationService, UserService userService) {
+    public NotificationController(NotificationService notificationService, NotificationHub notificationHub) {
         this.notificationService = notificationService;
-        this.userService = userService;
+        this.notificationHub = notificationHub;
     }
 
     /**
-     * Get all notifications for the current user
+     * Server-sent event stream of new notifications for the current user.
+     * Replaces polling /count and /unread; clients reconnect when the stream times out.
      */
-    @GetMapping
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUserNotifications(
-            @AuthenticationPrincipal UserDetails userDetails) {
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@AuthenticationPrincipal UserPrincipal principal) {
+        return notificationHub.subscribe(principal.getId());
+    }
 
-        User user = userService.findByEmail(userDetails.getUsername());
-        List<Notification> notifications = notificationService.getUserNotifications(user.getId());
+    /**
+     * Newest-first page of the current user's notifications, optionally of one type
+     * (e.g. EMI_REMINDER) and/or unread only
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getUserNotifications(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<Map<String, Object>> response = notifications.stream()
-                .map(this::mapNotification)
-                .collect(Collectors.toList());
+        CursorPage<NotificationResponse> page = notificationService.getInbox(
+                principal.getId(), type, unreadOnly, cursor, size);
 
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
+        return ResponseEntity.ok(ApiResponse.<CursorPage<NotificationResponse>>builder()
                 .success(true)
                 .message("Notifications retrieved")
-                .data(response)
+                .data(page)
                 .build());
     }
 
     /**
-     * Get unread notifications
+     * Newest-first page of unread notifications
      */
     @GetMapping("/unread")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUnreadNotifications(
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        User user = userService.findByEmail(userDetails.getUsername());
-        List<Notification> notifications = notificationService.getUnreadNotifications(user.getId());
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getUnreadNotifications(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
-        List<Map<String, Object>> response = notifications.stream()
-                .map(this::mapNotification)
-                .collect(Collectors.toList());
+        CursorPage<NotificationResponse> page = notificationService.getInbox(
+                principal.getId(), null, true, cursor, size);
 
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
+        return ResponseEntity.ok(ApiResponse.<CursorPage<NotificationResponse>>builder()
                 .success(true)
                 .message("Unread notifications retrieved")
-                .data(response)
+                .data(page)
                 .build());
     }
 
@@ -77,10 +83,9 @@ public class NotificationController {
      */
     @GetMapping("/count")
     public ResponseEntity<ApiResponse<Long>> getUnreadCount(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        User user = userService.findByEmail(userDetails.getUsername());
-        long count = notificationService.countUnreadNotifications(user.getId());
+        long count = notificationService.countUnreadNotifications(principal.getId());
 
         return ResponseEntity.ok(ApiResponse.<Long>builder()
                 .success(true)
@@ -93,13 +98,13 @@ public class NotificationController {
      * Mark notification as read
      */
     @PatchMapping("/{id}/read")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> markAsRead(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<NotificationResponse>> markAsRead(@PathVariable Long id) {
         Notification notification = notificationService.markAsRead(id);
 
-        return ResponseEntity.ok(ApiResponse.<Map<String, Object>>builder()
+        return ResponseEntity.ok(ApiResponse.<NotificationResponse>builder()
                 .success(true)
                 .message("Notification marked as read")
-                .data(mapNotification(notification))
+                .data(NotificationResponse.fromEntity(notification))
                 .build());
     }
 
@@ -108,10 +113,9 @@ public class NotificationController {
      */
     @PatchMapping("/read-all")
     public ResponseEntity<ApiResponse<Integer>> markAllAsRead(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal principal) {
 
-        User user = userService.findByEmail(userDetails.getUsername());
-        int count = notificationService.markAllAsRead(user.getId());
+        int count = notificationService.markAllAsRead(principal.getId());
 
         return ResponseEntity.ok(ApiResponse.<Integer>builder()
                 .success(true)
@@ -132,19 +136,4 @@ public class NotificationController {
                 .message("Notification deleted")
                 .build());
     }
-
-    private Map<String, Object> mapNotification(Notification n) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", n.getId());
-        map.put("type", n.getType().name());
-        map.put("title", n.getTitle());
-        map.put("message", n.getMessage());
-        map.put("isRead", n.isRead());
-        map.put("createdAt", n.getCreatedAt());
-        map.put("readAt", n.getReadAt());
-        map.put("relatedEntityType", n.getRelatedEntityType());
-        map.put("relatedEntityId", n.getRelatedEntityId());
-        map.put("actionUrl", n.getActionUrl());
-        return map;
-    }
 }
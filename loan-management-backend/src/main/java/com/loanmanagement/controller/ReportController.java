@@ -1,18 +1,29 @@
 package com.loanmanagement.controller;
 
+import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.ReportJobResponse;
 import com.loanmanagement.entity.*;
 import com.loanmanagement.repository.EMIScheduleRepository;
 import com.loanmanagement.repository.LoanRepository;
 import com.loanmanagement.repository.PaymentRepository;
-import com.loanmanagement.repository.TransactionRepository;
 import com.loanmanagement.service.report.CsvReportGenerator;
 import com.loanmanagement.service.report.ExcelReportGenerator;
 import com.loanmanagement.service.report.PdfReportGenerator;
+import com.loanmanagement.service.report.ReportFormat;
+import com.loanmanagement.service.report.ReportJob;
+import com.loanmanagement.service.report.ReportJobService;
+import com.loanmanagement.service.report.ReportRowSource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -33,7 +44,8 @@ public class ReportController {
     private final LoanRepository loanRepository;
     private final EMIScheduleRepository emiScheduleRepository;
     private final PaymentRepository paymentRepository;
-    private final TransactionRepository transactionRepository;
+    private final ReportRowSource rowSource;
+    private final ReportJobService reportJobService;
 
     public ReportController(PdfReportGenerator pdfGenerator,
             ExcelReportGenerator excelGenerator,
@@ -41,45 +53,42 @@ public class ReportController {
             LoanRepository loanRepository,
             EMIScheduleRepository emiScheduleRepository,
             PaymentRepository paymentRepository,
-            TransactionRepository transactionRepository) {
+            ReportRowSource rowSource,
+            ReportJobService reportJobService) {
         this.pdfGenerator = pdfGenerator;
         this.excelGenerator = excelGenerator;
         this.csvGenerator = csvGenerator;
         this.loanRepository = loanRepository;
         this.emiScheduleRepository = emiScheduleRepository;
         this.paymentRepository = paymentRepository;
-        this.transactionRepository = transactionRepository;
+        this.rowSource = rowSource;
+        this.reportJobService = reportJobService;
     }
 
     /**
      * Download loan summary report
      */
     @GetMapping("/loans")
-    public ResponseEntity<byte[]> downloadLoanSummary(
+    public ResponseEntity<StreamingResponseBody> downloadLoanSummary(
             @RequestParam(defaultValue = "pdf") String format,
             @RequestParam(required = false) String status) {
 
-        List<Loan> loans;
-        if (status != null && !status.isEmpty()) {
-            loans = loanRepository.findByStatus(LoanStatus.valueOf(status.toUpperCase()));
-        } else {
-            loans = loanRepository.findAll();
-        }
+        LoanStatus loanStatus = status != null && !status.isEmpty() ? LoanStatus.valueOf(status.toUpperCase()) : null;
 
         String title = "Loan Summary Report - " + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
         String filename = "loan_summary_" + LocalDate.now();
 
-        return generateReport(format, filename, () -> {
-            switch (format.toLowerCase()) {
-                case "excel":
-                case "xlsx":
-                    return excelGenerator.generateLoanSummaryReport(loans, title);
-                case "csv":
-                    return csvGenerator.generateLoanSummaryReport(loans);
-                default:
-                    return pdfGenerator.generateLoanSummaryReport(loans, title);
-            }
-        });
+        if (isCsv(format)) {
+            return streamReport(format, filename,
+                    out -> csvGenerator.writeLoanSummaryReport(rowSource.loans(loanStatus), out));
+        }
+        if (isExcel(format)) {
+            return streamReport(format, filename,
+                    out -> excelGenerator.writeLoanSummaryReport(rowSource.loans(loanStatus), title, out));
+        }
+
+        return streamReport(format, filename,
+                out -> pdfGenerator.writeLoanSummaryReport(rowSource.loans(loanStatus), title, out));
     }
 
     /**
@@ -113,36 +122,38 @@ public class ReportController {
      * Download payment history report
      */
     @GetMapping("/payments")
-    public ResponseEntity<byte[]> downloadPaymentHistory(
+    public ResponseEntity<StreamingResponseBody> downloadPaymentHistory(
             @RequestParam(required = false) Long loanId,
             @RequestParam(defaultValue = "pdf") String format) {
 
-        List<Payment> payments;
-        String borrowerName = null;
+        String filename = "payment_history_" + LocalDate.now();
 
-        if (loanId != null) {
-            Loan loan = loanRepository.findById(loanId)
-                    .orElseThrow(() -> new RuntimeException("Loan not found: " + loanId));
-            payments = paymentRepository.findByLoanOrderByPaymentNumberAsc(loan);
-            if (loan.getBorrower() != null) {
-                borrowerName = loan.getBorrower().getFirstName() + " " + loan.getBorrower().getLastName();
-            }
-        } else {
-            payments = paymentRepository.findAll();
+        if (loanId == null) {
+            return streamReport(format, filename, out -> {
+                switch (ReportFormat.of(format)) {
+                    case CSV -> csvGenerator.writePaymentHistoryReport(rowSource.payments(), out);
+                    case EXCEL -> excelGenerator.writePaymentHistoryReport(rowSource.payments(), null, out);
+                    default -> pdfGenerator.writePaymentHistoryReport(rowSource.payments(), null, out);
+                }
+            });
         }
 
-        String filename = "payment_history_" + LocalDate.now();
-        final String finalBorrowerName = borrowerName;
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new RuntimeException("Loan not found: " + loanId));
+        List<Payment> payments = paymentRepository.findByLoanOrderByPaymentNumberAsc(loan);
+        String borrowerName = loan.getBorrower() != null
+                ? loan.getBorrower().getFirstName() + " " + loan.getBorrower().getLastName()
+                : null;
 
-        return generateReport(format, filename, () -> {
+        return bufferedReport(format, filename, () -> {
             switch (format.toLowerCase()) {
                 case "excel":
                 case "xlsx":
-                    return excelGenerator.generatePaymentHistoryReport(payments, finalBorrowerName);
+                    return excelGenerator.generatePaymentHistoryReport(payments, borrowerName);
                 case "csv":
                     return csvGenerator.generatePaymentHistoryReport(payments);
                 default:
-                    return pdfGenerator.generatePaymentHistoryReport(payments, finalBorrowerName);
+                    return pdfGenerator.generatePaymentHistoryReport(payments, borrowerName);
             }
         });
     }
@@ -151,74 +162,126 @@ public class ReportController {
      * Download transaction ledger
      */
     @GetMapping("/transactions")
-    public ResponseEntity<byte[]> downloadTransactionLedger(
+    public ResponseEntity<StreamingResponseBody> downloadTransactionLedger(
             @RequestParam(required = false) Long loanId,
             @RequestParam(defaultValue = "csv") String format) {
 
-        List<Transaction> transactions;
-        if (loanId != null) {
-            transactions = transactionRepository.findByLoanId(loanId);
-        } else {
-            transactions = transactionRepository.findAll();
-        }
-
         String filename = "transaction_ledger_" + LocalDate.now();
 
-        return generateReport(format, filename, () -> csvGenerator.generateTransactionLedger(transactions));
+        // The ledger is only available as CSV
+        return streamReport("csv", filename,
+                out -> csvGenerator.writeTransactionLedger(rowSource.transactions(loanId), out));
     }
 
     /**
      * Download overdue report
      */
     @GetMapping("/overdue")
-    public ResponseEntity<byte[]> downloadOverdueReport(@RequestParam(defaultValue = "pdf") String format) {
-        List<Payment> overduePayments = paymentRepository.findOverduePayments(LocalDate.now());
+    public ResponseEntity<StreamingResponseBody> downloadOverdueReport(
+            @RequestParam(defaultValue = "pdf") String format) {
+        LocalDate today = LocalDate.now();
+        String filename = "overdue_report_" + today;
 
-        String filename = "overdue_report_" + LocalDate.now();
+        if (isCsv(format)) {
+            return streamReport(format, filename,
+                    out -> csvGenerator.writePaymentHistoryReport(rowSource.overduePayments(today), out));
+        }
+        if (isExcel(format)) {
+            return streamReport(format, filename, out -> excelGenerator
+                    .writePaymentHistoryReport(rowSource.overduePayments(today), "Overdue Payments", out));
+        }
 
-        return generateReport(format, filename, () -> {
-            switch (format.toLowerCase()) {
-                case "excel":
-                case "xlsx":
-                    return excelGenerator.generatePaymentHistoryReport(overduePayments, "Overdue Payments");
-                case "csv":
-                    return csvGenerator.generatePaymentHistoryReport(overduePayments);
-                default:
-                    return pdfGenerator.generatePaymentHistoryReport(overduePayments, "Overdue Payments");
-            }
-        });
+        return streamReport(format, filename, out -> pdfGenerator
+                .writePaymentHistoryReport(rowSource.overduePayments(today), "Overdue Payments", out));
+    }
+
+    /**
+     * Queue a report for background generation; identical in-flight requests share one job
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitReportJob(
+            @RequestParam ReportJob.Type type,
+            @RequestParam(defaultValue = "pdf") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long loanId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ReportJob job = reportJobService.submit(type, format, status, loanId, userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Report job accepted", ReportJobResponse.fromJob(job)));
+    }
+
+    /**
+     * Get status and progress of a report job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getReportJob(@PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ReportJob job = reportJobService.getJob(jobId, userDetails.getUsername(), isAdmin(userDetails));
+        return ResponseEntity.ok(ApiResponse.success(ReportJobResponse.fromJob(job)));
+    }
+
+    /**
+     * Download the output of a completed report job
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ReportJob job = reportJobService.getCompletedJob(jobId, userDetails.getUsername(), isAdmin(userDetails));
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFilename() + "\"")
+                .contentType(MediaType.parseMediaType(job.getFormat().getMediaType()))
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    // Admins may look at any user's report jobs
+    private static boolean isAdmin(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + Role.ADMIN.name()).equals(authority.getAuthority()));
     }
 
     // Helper to build response
     private ResponseEntity<byte[]> generateReport(String format, String filename, ReportSupplier supplier) {
         byte[] content = supplier.get();
 
-        MediaType mediaType;
-        String extension;
-
-        switch (format.toLowerCase()) {
-            case "excel":
-            case "xlsx":
-                mediaType = MediaType
-                        .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-                extension = ".xlsx";
-                break;
-            case "csv":
-                mediaType = MediaType.parseMediaType("text/csv");
-                extension = ".csv";
-                break;
-            default:
-                mediaType = MediaType.APPLICATION_PDF;
-                extension = ".pdf";
-        }
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + extension + "\"")
-                .contentType(mediaType)
+        return reportHeaders(format, filename)
                 .contentLength(content.length)
                 .body(content);
     }
 
+    // Helper to build a response from a fully generated report
+    private ResponseEntity<StreamingResponseBody> bufferedReport(String format, String filename,
+            ReportSupplier supplier) {
+        byte[] content = supplier.get();
+
+        return reportHeaders(format, filename)
+                .contentLength(content.length)
+                .body(out -> out.write(content));
+    }
+
+    // Helper to build a response that writes rows directly to the client as they are read
+    private ResponseEntity<StreamingResponseBody> streamReport(String format, String filename,
+            StreamingResponseBody body) {
+        return reportHeaders(format, filename).body(body);
+    }
+
+    private boolean isCsv(String format) {
+        return ReportFormat.of(format) == ReportFormat.CSV;
+    }
+
+    private boolean isExcel(String format) {
+        return ReportFormat.of(format) == ReportFormat.EXCEL;
+    }
+
+    private ResponseEntity.BodyBuilder reportHeaders(String format, String filename) {
+        ReportFormat reportFormat = ReportFormat.of(format);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + filename + reportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(reportFormat.getMediaType()));
+    }
+
     @FunctionalInterface
     interface ReportSupplier {
         byte[] get();
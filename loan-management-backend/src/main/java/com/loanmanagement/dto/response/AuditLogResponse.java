@@ -0,0 +1,141 @@
+package com.loanmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.loanmanagement.entity.AuditLog;
+import java.time.LocalDateTime;
+
+/**
+ * Audit log entry for list views. Old and new values are only filled in (and only
+ * serialized) when a view asks for them, to keep list payloads small.
+ */
+public class AuditLogResponse {
+    private Long id;
+    private Long userId;
+    private String userEmail;
+    private String userRole;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private String description;
+    private LocalDateTime timestamp;
+    private String ipAddress;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String oldValue;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String newValue;
+
+    public AuditLogResponse() {
+    }
+
+    public static AuditLogResponse fromEntity(AuditLog log) {
+        AuditLogResponse r = new AuditLogResponse();
+        r.id = log.getId();
+        r.userId = log.getUserId();
+        r.userEmail = log.getUserEmail();
+        r.userRole = log.getUserRole();
+        r.action = log.getAction().name();
+        r.entityType = log.getEntityType();
+        r.entityId = log.getEntityId();
+        r.description = log.getDescription();
+        r.timestamp = log.getTimestamp();
+        r.ipAddress = log.getIpAddress();
+        return r;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    public String getUserRole() {
+        return userRole;
+    }
+
+    public void setUserRole(String userRole) {
+        this.userRole = userRole;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public void setOldValue(String oldValue) {
+        this.oldValue = oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    public void setNewValue(String newValue) {
+        this.newValue = newValue;
+    }
+}
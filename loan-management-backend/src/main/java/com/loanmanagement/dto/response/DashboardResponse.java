@@ -1,6 +1,7 @@
 package com.loanmanagement.dto.response;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 
 public class DashboardResponse {
@@ -13,6 +14,7 @@ public class DashboardResponse {
     private BigDecimal overdueAmount;
     private Map<String, Long> loansByStatus;
     private Map<String, Long> usersByRole;
+    private List<String> unavailableMetrics;
 
     public DashboardResponse() {
     }
@@ -90,6 +92,14 @@ public class DashboardResponse {
         this.usersByRole = usersByRole;
     }
 
+    public List<String> getUnavailableMetrics() {
+        return unavailableMetrics;
+    }
+
+    public void setUnavailableMetrics(List<String> unavailableMetrics) {
+        this.unavailableMetrics = unavailableMetrics;
+    }
+
     // Builder
     public static DashboardResponseBuilder builder() {
         return new DashboardResponseBuilder();
@@ -105,6 +115,7 @@ public class DashboardResponse {
         private BigDecimal overdueAmount;
         private Map<String, Long> loansByStatus;
         private Map<String, Long> usersByRole;
+        private List<String> unavailableMetrics;
 
         public DashboardResponseBuilder totalUsers(long totalUsers) {
             this.totalUsers = totalUsers;
@@ -151,6 +162,11 @@ public class DashboardResponse {
             return this;
         }
 
+        public DashboardResponseBuilder unavailableMetrics(List<String> unavailableMetrics) {
+            this.unavailableMetrics = unavailableMetrics;
+            return this;
+        }
+
         public DashboardResponse build() {
             DashboardResponse r = new DashboardResponse();
             r.totalUsers = this.totalUsers;
@@ -162,6 +178,7 @@ public class DashboardResponse {
             r.overdueAmount = this.overdueAmount;
             r.loansByStatus = this.loansByStatus;
             r.usersByRole = this.usersByRole;
+            r.unavailableMetrics = this.unavailableMetrics;
             return r;
         }
     }
@@ -0,0 +1,118 @@
+package com.loanmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.loanmanagement.entity.Notification;
+import java.time.LocalDateTime;
+
+public class NotificationResponse {
+    private Long id;
+    private String type;
+    private String title;
+    private String message;
+    private boolean isRead;
+    private LocalDateTime createdAt;
+    private LocalDateTime readAt;
+    private String relatedEntityType;
+    private Long relatedEntityId;
+    private String actionUrl;
+
+    public NotificationResponse() {
+    }
+
+    public static NotificationResponse fromEntity(Notification n) {
+        NotificationResponse r = new NotificationResponse();
+        r.id = n.getId();
+        r.type = n.getType().name();
+        r.title = n.getTitle();
+        r.message = n.getMessage();
+        r.isRead = n.isRead();
+        r.createdAt = n.getCreatedAt();
+        r.readAt = n.getReadAt();
+        r.relatedEntityType = n.getRelatedEntityType();
+        r.relatedEntityId = n.getRelatedEntityId();
+        r.actionUrl = n.getActionUrl();
+        return r;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @JsonProperty("isRead")
+    public boolean isRead() {
+        return isRead;
+    }
+
+    public void setRead(boolean read) {
+        this.isRead = read;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+
+    public String getRelatedEntityType() {
+        return relatedEntityType;
+    }
+
+    public void setRelatedEntityType(String relatedEntityType) {
+        this.relatedEntityType = relatedEntityType;
+    }
+
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+
+    public void setRelatedEntityId(Long relatedEntityId) {
+        this.relatedEntityId = relatedEntityId;
+    }
+
+    public String getActionUrl() {
+        return actionUrl;
+    }
+
+    public void setActionUrl(String actionUrl) {
+        this.actionUrl = actionUrl;
+    }
+}
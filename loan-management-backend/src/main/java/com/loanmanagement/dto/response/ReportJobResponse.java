@@ -0,0 +1,148 @@
+package com.loanmanagement.dto.response;
+
+import com.loanmanagement.service.report.ReportJob;
+import java.time.LocalDateTime;
+
+public class ReportJobResponse {
+    private String jobId;
+    private String type;
+    private String format;
+    private String status;
+    private Integer progress;
+    private long rowsProcessed;
+    private Long totalRows;
+    private String filename;
+    private String downloadUrl;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+
+    public ReportJobResponse() {
+    }
+
+    public static ReportJobResponse fromJob(ReportJob job) {
+        ReportJobResponse r = new ReportJobResponse();
+        r.jobId = job.getId();
+        r.type = job.getType().name();
+        r.format = job.getFormat().name();
+        r.status = job.getStatus().name();
+        r.progress = job.getProgress();
+        r.rowsProcessed = job.getRowsProcessed();
+        r.totalRows = job.getTotalRows();
+        r.filename = job.getFilename();
+        r.downloadUrl = job.getStatus() == ReportJob.Status.COMPLETED
+                ? "/api/reports/jobs/" + job.getId() + "/download"
+                : null;
+        r.error = job.getError();
+        r.createdAt = job.getCreatedAt();
+        r.completedAt = job.getCompletedAt();
+        r.expiresAt = job.getExpiresAt();
+        return r;
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public Long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
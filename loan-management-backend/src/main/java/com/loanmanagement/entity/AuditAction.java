@@ -10,6 +10,7 @@ public enum AuditAction {
     LOGIN,
     LOGOUT,
     LOGIN_FAILED,
+    LOGIN_LOCKOUT,
     APPROVE,
     REJECT,
     PAYMENT,
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
  * Auto-generated when a loan is approved.
  */
 @Entity
-@Table(name = "emi_schedules")
+@Table(name = "emi_schedules", indexes = {
+        @Index(name = "idx_emi_due_status", columnList = "due_date, status"),
+        @Index(name = "idx_emi_loan", columnList = "loan_id, emi_number")
+})
 public class EMISchedule {
 
     @Id
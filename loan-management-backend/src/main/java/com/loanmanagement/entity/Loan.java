@@ -8,7 +8,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "loans")
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loan_status", columnList = "status"),
+        @Index(name = "idx_loan_lender_created", columnList = "lender_id, created_at, id"),
+        @Index(name = "idx_loan_borrower", columnList = "borrower_id"),
+        @Index(name = "idx_loan_created", columnList = "created_at, id")
+})
 public class Loan {
 
     @Id
@@ -8,8 +8,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "notifications", indexes = {
-        @Index(name = "idx_notification_user", columnList = "user_id"),
-        @Index(name = "idx_notification_read", columnList = "is_read")
+        @Index(name = "idx_notification_user_created", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_notification_user_unread", columnList = "user_id, is_read, created_at DESC, id DESC"),
+        @Index(name = "idx_notification_user_type", columnList = "user_id, type, created_at DESC, id DESC")
 })
 public class Notification {
 
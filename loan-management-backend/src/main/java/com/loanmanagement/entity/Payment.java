@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payment_due_status", columnList = "due_date, status"),
+        @Index(name = "idx_payment_loan", columnList = "loan_id")
+})
 public class Payment {
 
     @Id
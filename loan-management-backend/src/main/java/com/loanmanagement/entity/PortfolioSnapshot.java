@@ -0,0 +1,207 @@
+package com.loanmanagement.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily snapshot of portfolio KPIs used for analytics trend charts.
+ * One narrow row per day with one column per metric, so range reads
+ * never have to touch the transactions ledger.
+ */
+@Entity
+@Table(name = "portfolio_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_snapshot_date", columnNames = "snapshot_date")
+})
+public class PortfolioSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "active_loans", nullable = false)
+    private long activeLoans;
+
+    @Column(name = "completed_loans", nullable = false)
+    private long completedLoans;
+
+    @Column(name = "defaulted_loans", nullable = false)
+    private long defaultedLoans;
+
+    @Column(name = "outstanding_principal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal outstandingPrincipal = BigDecimal.ZERO;
+
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+
+    @Column(name = "overdue_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal overdueAmount = BigDecimal.ZERO;
+
+    @Column(name = "default_rate", nullable = false, precision = 5, scale = 2)
+    private BigDecimal defaultRate = BigDecimal.ZERO;
+
+    // Collections by transaction type for the snapshot day
+    @Column(name = "disbursed_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal disbursedAmount = BigDecimal.ZERO;
+
+    @Column(name = "payment_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal paymentAmount = BigDecimal.ZERO;
+
+    @Column(name = "fee_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal feeAmount = BigDecimal.ZERO;
+
+    @Column(name = "penalty_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal penaltyAmount = BigDecimal.ZERO;
+
+    @Column(name = "refund_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal refundAmount = BigDecimal.ZERO;
+
+    @Column(name = "adjustment_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal adjustmentAmount = BigDecimal.ZERO;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public PortfolioSnapshot() {
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Set the collected amount for a transaction type
+     */
+    public void setCollection(TransactionType type, BigDecimal amount) {
+        BigDecimal value = amount != null ? amount : BigDecimal.ZERO;
+        switch (type) {
+            case DISBURSEMENT -> disbursedAmount = value;
+            case PAYMENT -> paymentAmount = value;
+            case FEE -> feeAmount = value;
+            case PENALTY -> penaltyAmount = value;
+            case REFUND -> refundAmount = value;
+            case ADJUSTMENT -> adjustmentAmount = value;
+        }
+    }
+
+    /**
+     * Get the collected amount for a transaction type
+     */
+    public BigDecimal getCollection(TransactionType type) {
+        return switch (type) {
+            case DISBURSEMENT -> disbursedAmount;
+            case PAYMENT -> paymentAmount;
+            case FEE -> feeAmount;
+            case PENALTY -> penaltyAmount;
+            case REFUND -> refundAmount;
+            case ADJUSTMENT -> adjustmentAmount;
+        };
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public long getActiveLoans() {
+        return activeLoans;
+    }
+
+    public void setActiveLoans(long activeLoans) {
+        this.activeLoans = activeLoans;
+    }
+
+    public long getCompletedLoans() {
+        return completedLoans;
+    }
+
+    public void setCompletedLoans(long completedLoans) {
+        this.completedLoans = completedLoans;
+    }
+
+    public long getDefaultedLoans() {
+        return defaultedLoans;
+    }
+
+    public void setDefaultedLoans(long defaultedLoans) {
+        this.defaultedLoans = defaultedLoans;
+    }
+
+    public BigDecimal getOutstandingPrincipal() {
+        return outstandingPrincipal;
+    }
+
+    public void setOutstandingPrincipal(BigDecimal outstandingPrincipal) {
+        this.outstandingPrincipal = outstandingPrincipal;
+    }
+
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+
+    public void setOverdueCount(long overdueCount) {
+        this.overdueCount = overdueCount;
+    }
+
+    public BigDecimal getOverdueAmount() {
+        return overdueAmount;
+    }
+
+    public void setOverdueAmount(BigDecimal overdueAmount) {
+        this.overdueAmount = overdueAmount;
+    }
+
+    public BigDecimal getDefaultRate() {
+        return defaultRate;
+    }
+
+    public void setDefaultRate(BigDecimal defaultRate) {
+        this.defaultRate = defaultRate;
+    }
+
+    public BigDecimal getDisbursedAmount() {
+        return disbursedAmount;
+    }
+
+    public BigDecimal getPaymentAmount() {
+        return paymentAmount;
+    }
+
+    public BigDecimal getFeeAmount() {
+        return feeAmount;
+    }
+
+    public BigDecimal getPenaltyAmount() {
+        return penaltyAmount;
+    }
+
+    public BigDecimal getRefundAmount() {
+        return refundAmount;
+    }
+
+    public BigDecimal getAdjustmentAmount() {
+        return adjustmentAmount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -10,7 +10,9 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_user_created", columnList = "created_at, id")
+})
 public class User implements UserDetails {
 
     @Id
@@ -39,6 +41,10 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Bumped whenever issued tokens must stop working (disable, delete, role change)
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
     @Column(name = "credit_score")
     private Integer creditScore;
 
@@ -152,6 +158,21 @@ public class User implements UserDetails {
         this.enabled = enabled;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * Invalidate every token issued so far for this user
+     */
+    public void revokeTokens() {
+        this.tokenVersion++;
+    }
+
     public Integer getCreditScore() {
         return creditScore;
     }
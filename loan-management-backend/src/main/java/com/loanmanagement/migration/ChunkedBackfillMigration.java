@@ -0,0 +1,90 @@
+package com.loanmanagement.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Base for data backfills that must not hold long locks on hot tables.
+ * <p>
+ * Walks the table's primary key in fixed-size id ranges and commits after every range,
+ * so each chunk only locks the rows it touches and a failed run resumes cheaply (the
+ * update statement should skip rows that are already filled). Runs outside Flyway's
+ * migration transaction.
+ * <p>
+ * Subclasses are Spring beans named like Flyway migrations, e.g.
+ * {@code V5__BackfillLoanOutstanding}; Spring Boot hands JavaMigration beans to Flyway.
+ */
+public abstract class ChunkedBackfillMigration extends BaseJavaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedBackfillMigration.class);
+
+    /**
+     * Table whose id column drives the chunking
+     */
+    protected abstract String table();
+
+    /**
+     * UPDATE statement with two placeholders: the inclusive lower and upper id bounds
+     */
+    protected abstract String updateSql();
+
+    protected int chunkSize() {
+        return 5000;
+    }
+
+    /**
+     * Pause between chunks to leave headroom for live traffic
+     */
+    protected long pauseMillis() {
+        return 0;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        long minId;
+        long maxId;
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT MIN(id), MAX(id) FROM " + table())) {
+            rs.next();
+            minId = rs.getLong(1);
+            maxId = rs.getLong(2);
+            if (rs.wasNull()) {
+                return; // Empty table
+            }
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long updated = 0;
+        try (PreparedStatement update = connection.prepareStatement(updateSql())) {
+            for (long from = minId; from <= maxId; from += chunkSize()) {
+                update.setLong(1, from);
+                update.setLong(2, from + chunkSize() - 1);
+                updated += update.executeUpdate();
+                connection.commit();
+                if (pauseMillis() > 0) {
+                    Thread.sleep(pauseMillis());
+                }
+            }
+        } catch (Exception e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        logger.info("Backfilled {} rows in {} ({}..{})", updated, table(), minId, maxId);
+    }
+}
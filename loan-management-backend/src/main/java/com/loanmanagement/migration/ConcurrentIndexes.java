@@ -0,0 +1,49 @@
+package com.loanmanagement.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * CREATE INDEX helper for migrations that build indexes CONCURRENTLY on PostgreSQL.
+ * <p>
+ * A concurrent build that fails or is interrupted leaves an INVALID index behind, which
+ * the planner ignores but IF NOT EXISTS treats as present. Before each concurrent build
+ * such a leftover is dropped (also CONCURRENTLY), so a re-run of the migration rebuilds
+ * it instead of recording success over an unusable index.
+ */
+final class ConcurrentIndexes {
+
+    private ConcurrentIndexes() {
+    }
+
+    /**
+     * Create an index from a definition like {@code "idx_name ON table (cols)"}
+     */
+    static void create(Connection connection, String index, boolean concurrently) throws SQLException {
+        String name = index.substring(0, index.indexOf(' '));
+        try (Statement statement = connection.createStatement()) {
+            if (concurrently && isInvalid(connection, name)) {
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+            statement.execute("CREATE INDEX " + (concurrently ? "CONCURRENTLY " : "") + "IF NOT EXISTS " + index);
+        }
+    }
+
+    static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    // Resolved through the search path, as CREATE INDEX IF NOT EXISTS resolves the name
+    private static boolean isInvalid(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT NOT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.loanmanagement.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Indexes on the hot loan, payment, EMI schedule and user predicates, added since the V1
+ * baseline. On a baselined database these tables already hold production data, so
+ * PostgreSQL builds the indexes CONCURRENTLY to keep them writable; H2 gets ordinary
+ * CREATE INDEX. IF NOT EXISTS skips indexes hibernate ddl-auto already created; see
+ * {@link ConcurrentIndexes} for leftovers of an interrupted concurrent build.
+ */
+@Component
+public class V1_2__SeriesIndexes extends BaseJavaMigration {
+
+    private static final String[] CREATE = {
+            "idx_user_created ON users (created_at, id)",
+            "idx_loan_status ON loans (status)",
+            "idx_loan_lender_created ON loans (lender_id, created_at, id)",
+            "idx_loan_borrower ON loans (borrower_id)",
+            "idx_loan_created ON loans (created_at, id)",
+            "idx_payment_due_status ON payments (due_date, status)",
+            "idx_payment_loan ON payments (loan_id)",
+            "idx_emi_due_status ON emi_schedules (due_date, status)",
+            "idx_emi_loan ON emi_schedules (loan_id, emi_number)"
+    };
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = ConcurrentIndexes.isPostgres(connection);
+        for (String index : CREATE) {
+            ConcurrentIndexes.create(connection, index, postgres);
+        }
+    }
+}
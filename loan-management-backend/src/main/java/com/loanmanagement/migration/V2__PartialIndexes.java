@@ -0,0 +1,44 @@
+package com.loanmanagement.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Partial indexes over the non-terminal rows the schedulers scan. Predicates match the
+ * repository queries exactly so the planner can use them. PostgreSQL only, built
+ * CONCURRENTLY so the tables stay writable; H2 has no partial indexes and keeps the
+ * full ones from V1.2.
+ */
+@Component
+public class V2__PartialIndexes extends BaseJavaMigration {
+
+    private static final String[] CREATE = {
+            // EMIScheduleRepository.findAllOverdueEMIs / findOverduePageAfter
+            "idx_emi_open_due ON emi_schedules (due_date) WHERE status NOT IN ('PAID', 'WAIVED')",
+            // findEMIsDueInRange and findByDueDateAndStatus (due-today reminders)
+            "idx_emi_pending_due ON emi_schedules (due_date) WHERE status = 'PENDING'",
+            // PaymentRepository.findOverduePayments, countOverduePayments and sumOverdueAmount
+            "idx_payment_pending_due ON payments (due_date) WHERE status = 'PENDING'",
+            // LoanRepository.findAvailableLoanOffersAfter
+            "idx_loan_open_offers ON loans (created_at, id) WHERE status = 'PENDING' AND borrower_id IS NULL"
+    };
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!ConcurrentIndexes.isPostgres(connection)) {
+            return;
+        }
+        for (String index : CREATE) {
+            ConcurrentIndexes.create(connection, index, true);
+        }
+    }
+}
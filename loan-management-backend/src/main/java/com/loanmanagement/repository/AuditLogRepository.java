@@ -21,9 +21,10 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByUserIdOrderByTimestampDesc(Long userId);
 
     /**
-     * Find audit logs by entity type and ID
+     * Find audit logs by entity type and ID, newest first. Events logged in the same
+     * millisecond fall back to id order, so diffs always replay in write order.
      */
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId);
+    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDescIdDesc(String entityType, Long entityId);
 
     /**
      * Find audit logs by action type
@@ -52,16 +53,4 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      */
     @Query("SELECT a FROM AuditLog a WHERE a.userEmail = :email AND a.action IN ('LOGIN', 'LOGOUT', 'LOGIN_FAILED') ORDER BY a.timestamp DESC")
     List<AuditLog> findLoginAttemptsByEmail(@Param("email") String email);
-
-    /**
-     * Count failed login attempts in last N hours
-     */
-    @Query("SELECT COUNT(a) FROM AuditLog a WHERE a.userEmail = :email AND a.action = 'LOGIN_FAILED' AND a.timestamp > :since")
-    long countFailedLoginsSince(@Param("email") String email, @Param("since") LocalDateTime since);
-
-    /**
-     * Find suspicious activities (multiple failed logins, unusual access patterns)
-     */
-    @Query("SELECT a FROM AuditLog a WHERE a.action = 'LOGIN_FAILED' AND a.timestamp > :since GROUP BY a.ipAddress HAVING COUNT(a) > :threshold")
-    List<AuditLog> findSuspiciousActivities(@Param("since") LocalDateTime since, @Param("threshold") long threshold);
 }
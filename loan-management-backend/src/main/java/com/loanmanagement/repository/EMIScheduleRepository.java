@@ -2,12 +2,14 @@ package com.loanmanagement.repository;
 
 import com.loanmanagement.entity.EMISchedule;
 import com.loanmanagement.entity.EMIStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -81,4 +83,11 @@ public interface EMIScheduleRepository extends JpaRepository<EMISchedule, Long>
     @Query("SELECT e FROM EMISchedule e WHERE e.loan.borrower.id = :borrowerId AND e.dueDate BETWEEN :startDate AND :endDate AND e.status = 'PENDING' ORDER BY e.dueDate ASC")
     List<EMISchedule> findUpcomingEMIsForBorrower(@Param("borrowerId") Long borrowerId,
             @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Keyset page of overdue EMIs ordered by (createdAt, id)
+     */
+    @Query("SELECT e FROM EMISchedule e WHERE e.dueDate < :currentDate AND e.status NOT IN ('PAID', 'WAIVED') AND (e.createdAt > :createdAt OR (e.createdAt = :createdAt AND e.id > :id)) ORDER BY e.createdAt ASC, e.id ASC")
+    List<EMISchedule> findOverduePageAfter(@Param("currentDate") LocalDate currentDate,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
@@ -4,6 +4,7 @@ import com.loanmanagement.entity.ApplicationStatus;
 import com.loanmanagement.entity.Loan;
 import com.loanmanagement.entity.LoanApplication;
 import com.loanmanagement.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,8 +13,11 @@ import java.util.List;
 @Repository
 public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long> {
 
+    // Borrower and loan are read by LoanApplicationResponse for every row
+    @EntityGraph(attributePaths = { "borrower", "loan" })
     List<LoanApplication> findByBorrower(User borrower);
 
+    @EntityGraph(attributePaths = { "borrower", "loan" })
     List<LoanApplication> findByStatus(ApplicationStatus status);
 
     List<LoanApplication> findByBorrowerAndStatus(User borrower, ApplicationStatus status);
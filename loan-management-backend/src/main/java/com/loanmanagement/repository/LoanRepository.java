@@ -3,23 +3,31 @@ package com.loanmanagement.repository;
 import com.loanmanagement.entity.Loan;
 import com.loanmanagement.entity.LoanStatus;
 import com.loanmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
+    // List queries that feed LoanResponse and reports fetch both parties in the same select
+    @EntityGraph(attributePaths = { "borrower", "lender" })
     List<Loan> findByLender(User lender);
 
+    @EntityGraph(attributePaths = { "borrower", "lender" })
     List<Loan> findByBorrower(User borrower);
 
     List<Loan> findByStatus(LoanStatus status);
 
+    long countByStatus(LoanStatus status);
+
     List<Loan> findByLenderAndStatus(User lender, LoanStatus status);
 
     List<Loan> findByBorrowerAndStatus(User borrower, LoanStatus status);
@@ -27,12 +35,40 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     @Query("SELECT SUM(l.principalAmount) FROM Loan l WHERE l.status = :status")
     BigDecimal sumPrincipalByStatus(@Param("status") LoanStatus status);
 
+    @Query("SELECT SUM(l.remainingBalance) FROM Loan l WHERE l.status = :status")
+    BigDecimal sumRemainingBalanceByStatus(@Param("status") LoanStatus status);
+
     @Query("SELECT COUNT(l) FROM Loan l WHERE l.lender = :lender AND l.status = :status")
     long countByLenderAndStatus(@Param("lender") User lender, @Param("status") LoanStatus status);
 
+    @EntityGraph(attributePaths = { "lender" })
     @Query("SELECT l FROM Loan l WHERE l.status = 'PENDING' AND l.borrower IS NULL")
     List<Loan> findAvailableLoanOffers();
 
     @Query("SELECT SUM(l.totalInterest) FROM Loan l WHERE l.lender = :lender AND l.status = 'COMPLETED'")
     BigDecimal sumEarnedInterestByLender(@Param("lender") User lender);
+
+    // Keyset pages ordered by id with borrower/lender fetched, used for streaming exports
+    @Query("SELECT l FROM Loan l LEFT JOIN FETCH l.borrower LEFT JOIN FETCH l.lender WHERE l.id > :afterId ORDER BY l.id ASC")
+    List<Loan> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT l FROM Loan l LEFT JOIN FETCH l.borrower LEFT JOIN FETCH l.lender WHERE l.status = :status AND l.id > :afterId ORDER BY l.id ASC")
+    List<Loan> findPageByStatusAfter(@Param("status") LoanStatus status, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // Keyset pages on (createdAt, id) for the paginated list endpoints
+    @EntityGraph(attributePaths = { "borrower", "lender" })
+    @Query("SELECT l FROM Loan l WHERE (l.createdAt > :createdAt OR (l.createdAt = :createdAt AND l.id > :id)) ORDER BY l.createdAt ASC, l.id ASC")
+    List<Loan> findPageWithPartiesAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @EntityGraph(attributePaths = { "borrower", "lender" })
+    @Query("SELECT l FROM Loan l WHERE l.lender = :lender AND (l.createdAt > :createdAt OR (l.createdAt = :createdAt AND l.id > :id)) ORDER BY l.createdAt ASC, l.id ASC")
+    List<Loan> findPageByLenderAfter(@Param("lender") User lender, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = { "lender" })
+    @Query("SELECT l FROM Loan l WHERE l.status = 'PENDING' AND l.borrower IS NULL AND (l.createdAt > :createdAt OR (l.createdAt = :createdAt AND l.id > :id)) ORDER BY l.createdAt ASC, l.id ASC")
+    List<Loan> findAvailableLoanOffersAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
 }
@@ -2,26 +2,46 @@ package com.loanmanagement.repository;
 
 import com.loanmanagement.entity.Notification;
 import com.loanmanagement.entity.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     /**
-     * Find all notifications for a user, ordered by newest first
+     * Newest-first inbox page before the cursor (keyset on createdAt, id)
      */
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
 
     /**
-     * Find unread notifications for a user
+     * Newest-first page of unread notifications before the cursor
      */
-    List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadPageBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Newest-first page of one notification type before the cursor
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.type = :type AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageByTypeBefore(@Param("userId") Long userId, @Param("type") NotificationType type,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Newest-first page of unread notifications of one type before the cursor
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.type = :type AND n.isRead = false AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadPageByTypeBefore(@Param("userId") Long userId, @Param("type") NotificationType type,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 
     /**
      * Count unread notifications for a user
@@ -29,9 +49,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     long countByUserIdAndIsReadFalse(Long userId);
 
     /**
-     * Find notifications by type for a user
+     * Unread counts for several users as [userId, count] rows; users with none are absent
      */
-    List<Notification> findByUserIdAndTypeOrderByCreatedAtDesc(Long userId, NotificationType type);
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.isRead = false AND n.user.id IN :userIds GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") List<Long> userIds);
 
     /**
      * Mark all notifications as read for a user
@@ -41,11 +62,30 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     int markAllAsRead(@Param("userId") Long userId);
 
     /**
-     * Delete old read notifications (cleanup)
+     * Id bounds of notifications created before the cutoff, for chunked deletes
+     */
+    @Query("SELECT MIN(n.id) FROM Notification n WHERE n.createdAt < :cutoffDate")
+    Long findMinIdCreatedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    @Query("SELECT MAX(n.id) FROM Notification n WHERE n.createdAt < :cutoffDate")
+    Long findMaxIdCreatedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * Delete read notifications older than the cutoff within one id range (cleanup)
+     */
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id BETWEEN :fromId AND :toId " +
+            "AND n.isRead = true AND n.createdAt < :cutoffDate")
+    int deleteReadInIdRangeCreatedBefore(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * Delete all notifications older than the cutoff within one id range (retention)
      */
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoffDate")
-    int deleteOldReadNotifications(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
+    @Query("DELETE FROM Notification n WHERE n.id BETWEEN :fromId AND :toId AND n.createdAt < :cutoffDate")
+    int deleteInIdRangeCreatedBefore(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("cutoffDate") LocalDateTime cutoffDate);
 
     /**
      * Find notifications related to a specific entity
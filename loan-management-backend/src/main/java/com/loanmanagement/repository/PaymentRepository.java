@@ -3,6 +3,7 @@ package com.loanmanagement.repository;
 import com.loanmanagement.entity.Loan;
 import com.loanmanagement.entity.Payment;
 import com.loanmanagement.entity.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -21,6 +23,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     List<Payment> findByStatus(PaymentStatus status);
 
+    long countByStatus(PaymentStatus status);
+
     List<Payment> findByDueDateBeforeAndStatus(LocalDate date, PaymentStatus status);
 
     @Query("SELECT p FROM Payment p WHERE p.loan.borrower.id = :borrowerId ORDER BY p.dueDate ASC")
@@ -35,6 +39,12 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.dueDate <= :date AND p.status = 'PENDING'")
     List<Payment> findOverduePayments(@Param("date") LocalDate date);
 
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.dueDate <= :date AND p.status = 'PENDING'")
+    long countOverduePayments(@Param("date") LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(p.amountDue), 0) FROM Payment p WHERE p.dueDate <= :date AND p.status = 'PENDING'")
+    BigDecimal sumOverdueAmount(@Param("date") LocalDate date);
+
     @Query("SELECT p FROM Payment p WHERE p.loan.borrower = :borrower")
     List<Payment> findByBorrower(@Param("borrower") com.loanmanagement.entity.User borrower);
 
@@ -48,4 +58,16 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Sum of interest portions from paid/approved payments for lender's loans
     @Query("SELECT COALESCE(SUM(p.interestPortion), 0) FROM Payment p WHERE p.loan.lender.id = :lenderId AND (p.status = 'PAID' OR p.status = 'COMPLETED' OR p.status = 'LATE')")
     BigDecimal sumInterestEarnedByLender(@Param("lenderId") Long lenderId);
+
+    // Keyset pages ordered by id, used for streaming exports
+    List<Payment> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT p FROM Payment p WHERE p.dueDate <= :date AND p.status = 'PENDING' AND p.id > :afterId ORDER BY p.id ASC")
+    List<Payment> findOverduePaymentsAfter(@Param("date") LocalDate date, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // Keyset pages on (createdAt, id) for the borrower's payment list
+    @Query("SELECT p FROM Payment p WHERE p.loan.borrower.id = :borrowerId AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) ORDER BY p.createdAt ASC, p.id ASC")
+    List<Payment> findPageByBorrowerIdAfter(@Param("borrowerId") Long borrowerId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,23 @@
+package com.loanmanagement.repository;
+
+import com.loanmanagement.entity.PortfolioSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnapshot, Long> {
+
+    /**
+     * Find the snapshot for a given day
+     */
+    Optional<PortfolioSnapshot> findBySnapshotDate(LocalDate snapshotDate);
+
+    /**
+     * Find snapshots within a date range, oldest first (chart order)
+     */
+    List<PortfolioSnapshot> findBySnapshotDateBetweenOrderBySnapshotDateAsc(LocalDate startDate, LocalDate endDate);
+}
@@ -3,6 +3,7 @@ package com.loanmanagement.repository;
 import com.loanmanagement.entity.Loan;
 import com.loanmanagement.entity.Transaction;
 import com.loanmanagement.entity.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,9 +30,23 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    // Per-type totals for a window in a single grouped scan: rows of [TransactionType, BigDecimal]
+    @Query("SELECT t.type, SUM(t.amount) FROM Transaction t WHERE t.createdAt >= :start AND t.createdAt < :end GROUP BY t.type")
+    List<Object[]> sumAmountGroupedByTypeBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
     @Query("SELECT t FROM Transaction t WHERE t.loan.id = :loanId ORDER BY t.createdAt DESC")
     List<Transaction> findByLoanIdOrderByCreatedAtDesc(@Param("loanId") Long loanId);
 
     @Query("SELECT t FROM Transaction t WHERE t.loan.id = :loanId")
     List<Transaction> findByLoanId(@Param("loanId") Long loanId);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.loan.id = :loanId")
+    long countByLoanId(@Param("loanId") Long loanId);
+
+    // Keyset pages ordered by id, used for streaming exports
+    List<Transaction> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Transaction> findByLoanIdAndIdGreaterThanOrderByIdAsc(Long loanId, Long afterId, Pageable pageable);
 }
@@ -2,9 +2,13 @@ package com.loanmanagement.repository;
 
 import com.loanmanagement.entity.Role;
 import com.loanmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByEnabled(boolean enabled);
 
     long countByRole(Role role);
+
+    // Current token version of an enabled user; empty when the user is disabled or gone
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.enabled = true")
+    Optional<Integer> findActiveTokenVersion(@Param("id") Long id);
+
+    // Keyset pages on (createdAt, id) for the admin user list
+    @Query("SELECT u FROM User u WHERE (u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id)) ORDER BY u.createdAt ASC, u.id ASC")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
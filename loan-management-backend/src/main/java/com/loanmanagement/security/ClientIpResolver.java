@@ -0,0 +1,21 @@
+package com.loanmanagement.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolves the originating client address.
+ * <p>
+ * Client-supplied X-Forwarded-For / X-Real-IP headers are never read here, since any
+ * caller can set them. With server.forward-headers-strategy=native, Tomcat rewrites
+ * the remote address from X-Forwarded-For only when the connection comes from a
+ * trusted proxy (server.tomcat.remoteip.internal-proxies).
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
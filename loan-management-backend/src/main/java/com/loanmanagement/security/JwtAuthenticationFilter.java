@@ -1,5 +1,7 @@
 package com.loanmanagement.security;
 
+import com.loanmanagement.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,10 +24,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, @Lazy UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, @Lazy UserDetailsService userDetailsService,
+            TokenVersionCache tokenVersionCache) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     @Override
@@ -35,10 +40,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            // Signature and expiry are verified once; the claims carry everything needed below
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseClaims(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Refresh tokens are only good for /api/auth/refresh, never as bearer tokens
+            UserDetails userDetails = claims != null && jwtTokenProvider.isAccessToken(claims)
+                    ? resolvePrincipal(claims) : null;
+
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -54,6 +63,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Principal straight from the claims, rejected if the user's tokens were revoked since issue
+    private UserDetails resolvePrincipal(Claims claims) {
+        UserPrincipal principal = jwtTokenProvider.toPrincipal(claims);
+        if (principal == null) {
+            // Token issued before claims were added: fall back to a lookup
+            UserDetails user = userDetailsService.loadUserByUsername(claims.getSubject());
+            return user.isEnabled() && user instanceof User entity ? UserPrincipal.fromUser(entity) : null;
+        }
+        return tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion()) ? principal : null;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
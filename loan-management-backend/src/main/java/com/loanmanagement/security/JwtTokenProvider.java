@@ -1,14 +1,17 @@
 package com.loanmanagement.security;
 
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 
 /**
@@ -17,6 +20,13 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -26,28 +36,57 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
-    private SecretKey getSigningKey() {
+    // Key and parser are immutable and thread-safe, so they are built once at startup
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
         byte[] keyBytes = Decoders.BASE64.decode(java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    private SecretKey getSigningKey() {
+        return signingKey;
     }
 
     /**
      * Generate JWT token from authentication
      */
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername());
+        return generateToken((User) authentication.getPrincipal());
     }
 
     /**
-     * Generate JWT token from username
+     * Generate JWT token carrying the claims needed to authenticate without a user lookup
      */
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        return buildToken(user, TYPE_ACCESS, null, now, new Date(now.getTime() + jwtExpiration));
+    }
+
+    /**
+     * Generate refresh token with the given id; the caller records it in the refresh token store
+     */
+    public String generateRefreshToken(User user, String jti, Instant expiresAt) {
+        return buildToken(user, TYPE_REFRESH, jti, new Date(), Date.from(expiresAt));
+    }
 
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    private String buildToken(User user, String type, String jti, Date now, Date expiryDate) {
         return Jwts.builder()
-                .subject(username)
+                .id(jti)
+                .subject(user.getEmail())
+                .claim(CLAIM_TYPE, type)
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -55,52 +94,43 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Generate refresh token
+     * Whether verified claims may authenticate a request. Refresh tokens are rejected;
+     * tokens from before the type claim count as access tokens only if they have no id.
      */
-    public String generateRefreshToken(String username) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + refreshExpiration);
+    public boolean isAccessToken(Claims claims) {
+        String type = claims.get(CLAIM_TYPE, String.class);
+        return type != null ? TYPE_ACCESS.equals(type) : claims.getId() == null;
+    }
 
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    /**
+     * Whether verified claims belong to a refresh token
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class)) && claims.getId() != null;
     }
 
     /**
-     * Extract username from JWT token
+     * Build the request principal from verified claims, or null for tokens issued without them
      */
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+    public UserPrincipal toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || role == null || version == null) {
+            return null;
+        }
+        return new UserPrincipal(userId, claims.getSubject(), Role.valueOf(role), version);
     }
 
     /**
-     * Validate JWT token
+     * Verify the token once and return its claims, or null if it is invalid or expired
      */
-    public boolean validateToken(String token) {
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            // Invalid JWT token
-        } catch (ExpiredJwtException ex) {
-            // Expired JWT token
-        } catch (UnsupportedJwtException ex) {
-            // Unsupported JWT token
-        } catch (IllegalArgumentException ex) {
-            // JWT claims string is empty
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Malformed, expired, unsupported or badly signed token, or empty claims string
+            return null;
         }
-        return false;
     }
 }
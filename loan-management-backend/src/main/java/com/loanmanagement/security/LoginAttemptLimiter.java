@@ -0,0 +1,200 @@
+package com.loanmanagement.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks failed logins per email and per client IP over a sliding window and blocks
+ * further attempts once either limit is reached.
+ * <p>
+ * Counts are exact: each email and IP with a recent failure has its own window of
+ * one-minute sub-buckets, so failures for other keys can never lock a user out. Each
+ * map holds at most app.security.login-limit.max-keys entries; windows with no failure
+ * left in them are evicted. When a map is full of live windows, new keys are not
+ * tracked until space frees up, so a flood of distinct keys degrades to not counting
+ * rather than to blocking.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptLimiter.class);
+
+    private final Map<String, FailureWindow> emailFailures = new ConcurrentHashMap<>();
+    private final Map<String, FailureWindow> ipFailures = new ConcurrentHashMap<>();
+    private final int maxPerEmail;
+    private final int maxPerIp;
+    private final long windowSeconds;
+    private final int buckets;
+    private final long bucketMillis;
+    private final int maxKeys;
+
+    public LoginAttemptLimiter(@Value("${app.security.login-limit.max-per-email:5}") int maxPerEmail,
+            @Value("${app.security.login-limit.max-per-ip:20}") int maxPerIp,
+            @Value("${app.security.login-limit.window-minutes:15}") int windowMinutes,
+            @Value("${app.security.login-limit.max-keys:100000}") int maxKeys) {
+        this.maxPerEmail = maxPerEmail;
+        this.maxPerIp = maxPerIp;
+        this.windowSeconds = windowMinutes * 60L;
+        // One-minute sub-buckets give a smooth slide without much memory
+        this.buckets = Math.max(1, windowMinutes);
+        this.bucketMillis = windowSeconds * 1000 / buckets;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Whether new attempts for this email or IP should be refused
+     */
+    public boolean isBlocked(String email, String ip) {
+        long now = System.currentTimeMillis();
+        return count(emailFailures, emailKey(email), now) >= maxPerEmail
+                || (ip != null && count(ipFailures, ip, now) >= maxPerIp);
+    }
+
+    /**
+     * Record a failed attempt. Returns which limit this failure crossed, so the caller
+     * can audit the crossing once rather than every failure. Counts slide, so a crossing
+     * is any step from below the limit to at or above it.
+     */
+    public Threshold recordFailure(String email, String ip) {
+        return recordFailure(email, ip, System.currentTimeMillis());
+    }
+
+    public int failuresForEmail(String email) {
+        return count(emailFailures, emailKey(email), System.currentTimeMillis());
+    }
+
+    /**
+     * Number of failures that trips the given limit
+     */
+    public int getLimit(Threshold threshold) {
+        return threshold == Threshold.IP ? maxPerIp : maxPerEmail;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * Every minute: Drop windows whose failures have all slid out
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        evictExpired(emailFailures, now);
+        evictExpired(ipFailures, now);
+    }
+
+    int trackedKeys() {
+        return emailFailures.size() + ipFailures.size();
+    }
+
+    Threshold recordFailure(String email, String ip, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        FailureWindow emailWindow = windowFor(emailFailures, emailKey(email), nowMillis);
+        int emailBefore = emailWindow != null ? emailWindow.count(epoch) : 0;
+        int emailCount = emailWindow != null ? emailWindow.increment(epoch, nowMillis) : 0;
+        if (crossed(emailBefore, emailCount, maxPerEmail)) {
+            if (ip != null) {
+                increment(ip, nowMillis);
+            }
+            return Threshold.EMAIL;
+        }
+        if (ip != null) {
+            FailureWindow ipWindow = windowFor(ipFailures, ip, nowMillis);
+            int ipBefore = ipWindow != null ? ipWindow.count(epoch) : 0;
+            int ipCount = ipWindow != null ? ipWindow.increment(epoch, nowMillis) : 0;
+            return crossed(ipBefore, ipCount, maxPerIp) ? Threshold.IP : Threshold.NONE;
+        }
+        return Threshold.NONE;
+    }
+
+    boolean isBlocked(String email, String ip, long nowMillis) {
+        return count(emailFailures, emailKey(email), nowMillis) >= maxPerEmail
+                || (ip != null && count(ipFailures, ip, nowMillis) >= maxPerIp);
+    }
+
+    private void increment(String ip, long nowMillis) {
+        FailureWindow window = windowFor(ipFailures, ip, nowMillis);
+        if (window != null) {
+            window.increment(nowMillis / bucketMillis, nowMillis);
+        }
+    }
+
+    private int count(Map<String, FailureWindow> failures, String key, long nowMillis) {
+        FailureWindow window = failures.get(key);
+        return window != null ? window.count(nowMillis / bucketMillis) : 0;
+    }
+
+    // The key's window, or null when the map is full of live windows
+    private FailureWindow windowFor(Map<String, FailureWindow> failures, String key, long nowMillis) {
+        FailureWindow window = failures.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (failures.size() >= maxKeys) {
+            evictExpired(failures, nowMillis);
+            if (failures.size() >= maxKeys) {
+                logger.warn("Login failure tracking is full ({} keys); not counting new keys", maxKeys);
+                return null;
+            }
+        }
+        return failures.computeIfAbsent(key, k -> new FailureWindow(buckets));
+    }
+
+    private void evictExpired(Map<String, FailureWindow> failures, long nowMillis) {
+        long cutoff = nowMillis - windowSeconds * 1000;
+        failures.values().removeIf(window -> window.lastFailureAt < cutoff);
+    }
+
+    private static boolean crossed(int before, int after, int limit) {
+        return before < limit && after >= limit;
+    }
+
+    private static String emailKey(String email) {
+        return email != null ? email.toLowerCase() : "";
+    }
+
+    public enum Threshold {
+        NONE, EMAIL, IP
+    }
+
+    /**
+     * Failure counts of one key in one-minute sub-buckets. Each cell packs the
+     * sub-bucket epoch in its high 32 bits and the count in its low 32 bits, so stale
+     * cells are recycled in place.
+     */
+    private static final class FailureWindow {
+        private final long[] cells;
+        private volatile long lastFailureAt;
+
+        FailureWindow(int buckets) {
+            this.cells = new long[buckets];
+        }
+
+        synchronized int increment(long epoch, long nowMillis) {
+            int index = (int) Math.floorMod(epoch, cells.length);
+            long tag = (epoch & 0xFFFFFFFFL) << 32;
+            cells[index] = (cells[index] & 0xFFFFFFFF00000000L) == tag ? cells[index] + 1 : tag | 1;
+            lastFailureAt = nowMillis;
+            return count(epoch);
+        }
+
+        synchronized int count(long epoch) {
+            int total = 0;
+            for (int i = 0; i < cells.length; i++) {
+                long cellEpoch = epoch - i;
+                long cell = cells[(int) Math.floorMod(cellEpoch, cells.length)];
+                if ((cell >>> 32) == (cellEpoch & 0xFFFFFFFFL)) {
+                    total += (int) cell;
+                }
+            }
+            return total;
+        }
+    }
+}
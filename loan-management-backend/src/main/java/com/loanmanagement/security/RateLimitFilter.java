@@ -0,0 +1,178 @@
+package com.loanmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanmanagement.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for expensive endpoints, one bucket per principal and route.
+ * Runs inside the security chain after JWT authentication so buckets are keyed by user;
+ * anonymous callers are keyed by client IP. Buckets idle for longer than the eviction
+ * interval are dropped. The first route with a matching pattern wins.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<Route> routes;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long idleNanos;
+
+    public RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.rate-limit.idle-eviction-minutes:10}") long idleMinutes,
+            @Value("${app.security.rate-limit.reports.capacity:10}") int reportsCapacity,
+            @Value("${app.security.rate-limit.reports.refill-per-minute:10}") int reportsRefill,
+            @Value("${app.security.rate-limit.report-jobs.capacity:60}") int reportJobsCapacity,
+            @Value("${app.security.rate-limit.report-jobs.refill-per-minute:60}") int reportJobsRefill,
+            @Value("${app.security.rate-limit.emi-calculate.capacity:60}") int emiCapacity,
+            @Value("${app.security.rate-limit.emi-calculate.refill-per-minute:60}") int emiRefill) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        this.routes = List.of(
+                // Job status polling and downloads are cheap and must not use up the generators' budget
+                new Route("report-jobs", List.of("/api/reports/jobs/*", "/api/reports/jobs/*/download"),
+                        reportJobsCapacity, reportJobsRefill, meterRegistry),
+                new Route("reports", List.of("/api/reports/**", "/api/analyst/reports/**"),
+                        reportsCapacity, reportsRefill, meterRegistry),
+                new Route("emi-calculate", List.of("/api/emi/calculate"), emiCapacity, emiRefill, meterRegistry));
+        Gauge.builder("http.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || routeFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Route route = routeFor(request.getRequestURI());
+        Bucket bucket = buckets.computeIfAbsent(route.name + '|' + callerKey(request),
+                key -> new Bucket(route.capacity));
+
+        long waitNanos = bucket.tryConsume(route.capacity, route.nanosPerToken);
+        if (waitNanos == 0) {
+            route.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.throttled.increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Rate limit exceeded, retry in " + retryAfter + "s"));
+    }
+
+    /**
+     * Every minute: Drop buckets that have not been used recently
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> now - bucket.lastAccess > idleNanos);
+    }
+
+    private Route routeFor(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "u" + principal.getId();
+        }
+        return "ip" + ClientIpResolver.resolve(request);
+    }
+
+    private static final class Route {
+        private final String name;
+        private final List<String> patterns;
+        private final int capacity;
+        private final long nanosPerToken;
+        private final Counter allowed;
+        private final Counter throttled;
+
+        Route(String name, List<String> patterns, int capacity, int refillPerMinute, MeterRegistry registry) {
+            this.name = name;
+            this.patterns = patterns;
+            this.capacity = capacity;
+            this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+            this.allowed = Counter.builder("http.ratelimit.requests")
+                    .tags("route", name, "outcome", "allowed").register(registry);
+            this.throttled = Counter.builder("http.ratelimit.requests")
+                    .tags("route", name, "outcome", "throttled").register(registry);
+        }
+    }
+
+    /**
+     * Token bucket tracked in whole tokens plus the time the next token accrues,
+     * so a check allocates nothing.
+     */
+    private static final class Bucket {
+        private long tokens;
+        private long refilledAt;
+        private volatile long lastAccess;
+
+        Bucket(int capacity) {
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+            this.lastAccess = refilledAt;
+        }
+
+        // Returns 0 when a token was taken, otherwise nanoseconds until one is available
+        synchronized long tryConsume(int capacity, long nanosPerToken) {
+            long now = System.nanoTime();
+            lastAccess = now;
+            long accrued = (now - refilledAt) / nanosPerToken;
+            if (accrued > 0) {
+                tokens = Math.min(capacity, tokens + accrued);
+                refilledAt = tokens == capacity ? now : refilledAt + accrued * nanosPerToken;
+            }
+            if (tokens > 0) {
+                tokens--;
+                return 0;
+            }
+            return nanosPerToken - (now - refilledAt);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.loanmanagement.security;
+
+import com.loanmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revocation check for stateless tokens.
+ * Caches each user's current token version (or -1 when the user is disabled or
+ * deleted) for a short TTL. Local changes invalidate the entry immediately and again
+ * once their transaction commits; the TTL bounds how long other instances keep
+ * honouring a revoked token.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.security.token-version-ttl-seconds:30}")
+    private long ttlSeconds = 30;
+
+    @Value("${app.security.token-version-max-entries:10000}")
+    private int maxEntries = 10000;
+
+    public TokenVersionCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Whether a token carrying the given version is still valid for the user
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry == null || now - entry.loadedAt > ttlSeconds * 1_000_000_000L) {
+            long loadGeneration = generation.get();
+            entry = new Entry(userRepository.findActiveTokenVersion(userId).orElse(REVOKED), now);
+            if (entries.size() >= maxEntries) {
+                evictExpired(now);
+            }
+            if (generation.get() == loadGeneration) {
+                entries.put(userId, entry);
+            }
+        }
+        return entry.version != REVOKED && entry.version == tokenVersion;
+    }
+
+    /**
+     * Drop the cached state after the user's status, role or existence changed
+     */
+    public void invalidate(Long userId) {
+        remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A request in between may have cached the pre-commit version
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    private void remove(Long userId) {
+        generation.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(e -> now - e.loadedAt > ttlSeconds * 1_000_000_000L);
+        if (entries.size() >= maxEntries) {
+            // Everything is fresh: start over rather than grow past the bound
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        private final int version;
+        private final long loadedAt;
+
+        Entry(int version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.loanmanagement.security;
+
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of users keyed by email.
+ * Backs UserService.loadUserByUsername and findByEmail; entries are dropped by the
+ * services that change users, once their transaction commits. Entries are immutable
+ * snapshots and every hit returns a fresh detached User, so callers never share an
+ * instance. Hits, misses, evictions and hit ratio are published as cache.* metrics
+ * with tag cache=userDetails (see /actuator/metrics).
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final String CACHE_NAME = "userDetails";
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Bumped by every invalidation, so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    // Access-ordered so the least recently used entry is evicted first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    public UserDetailsCache(@Value("${app.security.user-cache.max-size:1000}") int maxSize,
+            @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+
+        FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME, "result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+                .tags("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.size", this, UserDetailsCache::size)
+                .tags("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, UserDetailsCache::hitRatio)
+                .tags("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    /**
+     * Cached user for the email, loading (and caching) it on a miss or expired entry
+     */
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return Optional.of(entry.snapshot.toUser());
+            }
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        Optional<User> loaded = loader.apply(email);
+        loaded.ifPresent(user -> put(email, new Snapshot(user), now, loadGeneration));
+        return loaded;
+    }
+
+    /**
+     * Drop the cached entry after the user was changed or deleted. Inside a transaction
+     * the entry is dropped again after commit, since a concurrent load may have cached
+     * the old row in between.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        }
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void remove(String email) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(email);
+        }
+    }
+
+    private void put(String email, Snapshot snapshot, long loadedAt, long loadGeneration) {
+        synchronized (entries) {
+            if (generation.get() != loadGeneration) {
+                return; // Invalidated while loading; the loaded row may be stale
+            }
+            entries.put(email, new Entry(snapshot, loadedAt));
+            while (entries.size() > maxSize) {
+                Map.Entry<String, Entry> eldest = entries.entrySet().iterator().next();
+                entries.remove(eldest.getKey());
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Snapshot snapshot;
+        private final long loadedAt;
+
+        Entry(Snapshot snapshot, long loadedAt) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Column values of a loaded user; never handed out, only copied into new instances
+    private static final class Snapshot {
+        private final Long id;
+        private final String email;
+        private final String password;
+        private final String firstName;
+        private final String lastName;
+        private final String phoneNumber;
+        private final Role role;
+        private final boolean enabled;
+        private final int tokenVersion;
+        private final Integer creditScore;
+        private final BigDecimal riskScore;
+        private final String riskLevel;
+        private final String address;
+        private final BigDecimal annualIncome;
+        private final String employmentStatus;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+
+        Snapshot(User user) {
+            this.id = user.getId();
+            this.email = user.getEmail();
+            this.password = user.getPassword();
+            this.firstName = user.getFirstName();
+            this.lastName = user.getLastName();
+            this.phoneNumber = user.getPhoneNumber();
+            this.role = user.getRole();
+            this.enabled = user.isEnabled();
+            this.tokenVersion = user.getTokenVersion();
+            this.creditScore = user.getCreditScore();
+            this.riskScore = user.getRiskScore();
+            this.riskLevel = user.getRiskLevel();
+            this.address = user.getAddress();
+            this.annualIncome = user.getAnnualIncome();
+            this.employmentStatus = user.getEmploymentStatus();
+            this.createdAt = user.getCreatedAt();
+            this.updatedAt = user.getUpdatedAt();
+        }
+
+        User toUser() {
+            User user = new User(id, email, password, firstName, lastName, phoneNumber, role, enabled,
+                    createdAt, updatedAt);
+            user.setTokenVersion(tokenVersion);
+            user.setCreditScore(creditScore);
+            user.setRiskScore(riskScore);
+            user.setRiskLevel(riskLevel);
+            user.setAddress(address);
+            user.setAnnualIncome(annualIncome);
+            user.setEmploymentStatus(employmentStatus);
+            return user;
+        }
+    }
+}
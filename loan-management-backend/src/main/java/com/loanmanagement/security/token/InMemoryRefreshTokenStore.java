@@ -0,0 +1,98 @@
+package com.loanmanagement.security.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Single-instance refresh token store.
+ * A hash map gives O(1) lookup by jti; a skip list ordered by expiry lets purge and
+ * capacity eviction remove the soonest-expiring tokens without scanning.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.refresh-store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryRefreshTokenStore.class);
+
+    private final Map<String, StoredRefreshToken> tokens = new ConcurrentHashMap<>();
+    private final NavigableSet<StoredRefreshToken> byExpiry = new ConcurrentSkipListSet<>(
+            Comparator.comparing(StoredRefreshToken::getExpiresAt).thenComparing(StoredRefreshToken::getJti));
+
+    @Value("${app.security.refresh-store-max-size:100000}")
+    private int maxSize = 100000;
+
+    @Override
+    public void save(StoredRefreshToken token) {
+        tokens.put(token.getJti(), token);
+        byExpiry.add(token);
+        while (tokens.size() > maxSize) {
+            StoredRefreshToken eldest = byExpiry.pollFirst();
+            if (eldest == null) {
+                break;
+            }
+            tokens.remove(eldest.getJti());
+        }
+    }
+
+    @Override
+    public StoredRefreshToken find(String jti) {
+        return tokens.get(jti);
+    }
+
+    @Override
+    public boolean consume(String jti, Instant now) {
+        boolean[] consumed = { false };
+        tokens.computeIfPresent(jti, (key, token) -> {
+            if (token.isUsed() || token.isExpired(now)) {
+                return token;
+            }
+            consumed[0] = true;
+            return token.markUsed();
+        });
+        return consumed[0];
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId) {
+        // Only reached on detected reuse or account changes, so a scan is acceptable
+        tokens.replaceAll((jti, token) -> token.getUserId().equals(userId) ? token.markUsed() : token);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int removed = 0;
+        // Ordered by expiry: stop at the first token that is still valid
+        for (StoredRefreshToken token : byExpiry) {
+            if (!token.isExpired(now)) {
+                break;
+            }
+            if (byExpiry.remove(token)) {
+                tokens.remove(token.getJti());
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Every 10 minutes: Drop expired refresh tokens
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-purge-interval-ms:600000}")
+    public void purgeExpiredTokens() {
+        int removed = purgeExpired(Instant.now());
+        if (removed > 0) {
+            logger.debug("Purged {} expired refresh tokens", removed);
+        }
+    }
+}
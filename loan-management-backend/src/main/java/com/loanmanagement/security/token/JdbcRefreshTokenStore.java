@@ -0,0 +1,75 @@
+package com.loanmanagement.security.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Database-backed refresh token store shared by all instances.
+ * Rotation is a single UPDATE on the primary key; expiry purges use the expires_at index.
+ * The refresh_tokens table is created by V1_1__series_schema.sql, so databases adopted
+ * at the pre-Flyway V1 baseline get it too.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.refresh-store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRefreshTokenStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRefreshTokenStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(StoredRefreshToken token) {
+        jdbcTemplate.update("INSERT INTO refresh_tokens (jti, user_id, expires_at, used) VALUES (?, ?, ?, ?)",
+                token.getJti(), token.getUserId(), Timestamp.from(token.getExpiresAt()), token.isUsed());
+    }
+
+    @Override
+    public StoredRefreshToken find(String jti) {
+        List<StoredRefreshToken> rows = jdbcTemplate.query(
+                "SELECT jti, user_id, expires_at, used FROM refresh_tokens WHERE jti = ?",
+                (rs, rowNum) -> new StoredRefreshToken(rs.getString("jti"), rs.getLong("user_id"),
+                        rs.getTimestamp("expires_at").toInstant(), rs.getBoolean("used")),
+                jti);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public boolean consume(String jti, Instant now) {
+        return jdbcTemplate.update(
+                "UPDATE refresh_tokens SET used = TRUE WHERE jti = ? AND used = FALSE AND expires_at > ?",
+                jti, Timestamp.from(now)) == 1;
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId) {
+        jdbcTemplate.update("UPDATE refresh_tokens SET used = TRUE WHERE user_id = ? AND used = FALSE", userId);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at <= ?", Timestamp.from(now));
+    }
+
+    /**
+     * Every 10 minutes: Delete expired refresh tokens
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-purge-interval-ms:600000}")
+    public void purgeExpiredTokens() {
+        int removed = purgeExpired(Instant.now());
+        if (removed > 0) {
+            logger.debug("Purged {} expired refresh tokens", removed);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.loanmanagement.security.token;
+
+import java.time.Instant;
+
+/**
+ * Store of issued refresh tokens used for rotation, revocation and reuse detection.
+ * Lookups are by jti only, so every operation on the refresh path is a single keyed access.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Record a newly issued refresh token
+     */
+    void save(StoredRefreshToken token);
+
+    /**
+     * Get a token by jti, or null if it was never issued or has been purged
+     */
+    StoredRefreshToken find(String jti);
+
+    /**
+     * Atomically mark an unexpired, unused token as used.
+     * Returns false if the token is unknown, expired or was already used.
+     */
+    boolean consume(String jti, Instant now);
+
+    /**
+     * Invalidate every outstanding refresh token of a user
+     */
+    void revokeAllForUser(Long userId);
+
+    /**
+     * Remove expired tokens, returning how many were removed
+     */
+    int purgeExpired(Instant now);
+}
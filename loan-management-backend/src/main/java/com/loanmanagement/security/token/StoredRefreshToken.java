@@ -0,0 +1,45 @@
+package com.loanmanagement.security.token;
+
+import java.time.Instant;
+
+/**
+ * Server-side record of an issued refresh token, keyed by its jti
+ */
+public class StoredRefreshToken {
+
+    private final String jti;
+    private final Long userId;
+    private final Instant expiresAt;
+    private final boolean used;
+
+    public StoredRefreshToken(String jti, Long userId, Instant expiresAt, boolean used) {
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.used = used;
+    }
+
+    public StoredRefreshToken markUsed() {
+        return new StoredRefreshToken(jti, userId, expiresAt, true);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isUsed() {
+        return used;
+    }
+}
@@ -1,25 +1,33 @@
 package com.loanmanagement.service;
 
+import com.loanmanagement.dto.response.AuditLogResponse;
 import com.loanmanagement.entity.AuditAction;
 import com.loanmanagement.entity.AuditLog;
 import com.loanmanagement.entity.User;
-import com.loanmanagement.repository.AuditLogRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanmanagement.exception.ResourceNotFoundException;
+import com.loanmanagement.security.ClientIpResolver;
+import com.loanmanagement.security.LoginAttemptLimiter;
+import com.loanmanagement.service.audit.AuditPipeline;
+import com.loanmanagement.service.audit.AuditStore;
+import com.loanmanagement.service.audit.AuditValueEncoder;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Service for managing audit logs.
  * Tracks all important actions in the system for compliance and debugging.
+ * Events are captured on the caller's thread (user, request and value snapshots) and
+ * written behind by the {@link AuditPipeline}, so recent events appear in queries
+ * after a short delay.
  */
 @Service
 @SuppressWarnings("null")
@@ -27,19 +35,24 @@ public class AuditService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
 
-    private final AuditLogRepository auditLogRepository;
-    private final ObjectMapper objectMapper;
+    private final AuditStore auditStore;
+    private final AuditPipeline auditPipeline;
+    private final AuditValueEncoder valueEncoder;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
-    public AuditService(AuditLogRepository auditLogRepository) {
-        this.auditLogRepository = auditLogRepository;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.findAndRegisterModules(); // For Java 8 date/time support
+    public AuditService(AuditStore auditStore, AuditPipeline auditPipeline, AuditValueEncoder valueEncoder,
+            LoginAttemptLimiter loginAttemptLimiter) {
+        this.auditStore = auditStore;
+        this.auditPipeline = auditPipeline;
+        this.valueEncoder = valueEncoder;
+        this.loginAttemptLimiter = loginAttemptLimiter;
     }
 
     /**
-     * Log an action with full details
+     * Log an action with full details. Values are serialized here, while the caller's
+     * session is still open, so lazy associations and later changes cannot leak in.
+     * Updates store only the changed fields (see {@link AuditValueEncoder}).
      */
-    @Async
     public void log(User user, AuditAction action, String entityType, Long entityId,
             Object oldValue, Object newValue, String description, HttpServletRequest request) {
         try {
@@ -47,7 +60,7 @@ public class AuditService {
                     .action(action)
                     .entityType(entityType)
                     .entityId(entityId)
-                    .description(description);
+                    .description(truncate(description, 500));
 
             if (user != null) {
                 builder.userId(user.getId())
@@ -55,23 +68,17 @@ public class AuditService {
                         .userRole(user.getRole().name());
             }
 
-            if (oldValue != null) {
-                builder.oldValue(toJson(oldValue));
-            }
-
-            if (newValue != null) {
-                builder.newValue(toJson(newValue));
-            }
+            AuditValueEncoder.Encoded values = valueEncoder.encode(oldValue, newValue);
+            builder.oldValue(values.getOldValue())
+                    .newValue(values.getNewValue());
 
             if (request != null) {
-                builder.ipAddress(getClientIP(request))
-                        .userAgent(request.getHeader("User-Agent"));
+                withRequest(builder, request);
             }
 
-            AuditLog log = builder.build();
-            auditLogRepository.save(log);
+            auditPipeline.submit(builder.build());
 
-            logger.debug("Audit log created: {} - {} - {}", action, entityType, entityId);
+            logger.debug("Audit log queued: {} - {} - {}", action, entityType, entityId);
         } catch (Exception e) {
             logger.error("Failed to create audit log: {}", e.getMessage(), e);
         }
@@ -91,15 +98,29 @@ public class AuditService {
         AuditLog.AuditLogBuilder builder = AuditLog.builder()
                 .action(success ? AuditAction.LOGIN : AuditAction.LOGIN_FAILED)
                 .entityType("AUTH")
-                .userEmail(email)
+                .userEmail(truncate(email, 255))
                 .description(success ? "User logged in successfully" : "Login attempt failed");
 
         if (request != null) {
-            builder.ipAddress(getClientIP(request))
-                    .userAgent(request.getHeader("User-Agent"));
+            withRequest(builder, request);
         }
 
-        auditLogRepository.save(builder.build());
+        auditPipeline.submit(builder.build());
+    }
+
+    /**
+     * Log that failed logins for an email or IP reached the lockout threshold.
+     * Written once per crossing instead of once per failed attempt.
+     */
+    public void logLoginLockout(String email, String ipAddress, String limitedBy, int attempts, long windowSeconds) {
+        auditPipeline.submit(AuditLog.builder()
+                .action(AuditAction.LOGIN_LOCKOUT)
+                .entityType("AUTH")
+                .userEmail(truncate(email, 255))
+                .ipAddress(ipAddress)
+                .description(String.format("%d failed logins within %d minutes (limited by %s)",
+                        attempts, windowSeconds / 60, limitedBy))
+                .build());
     }
 
     /**
@@ -138,72 +159,100 @@ public class AuditService {
      * Get audit logs for a specific entity
      */
     public List<AuditLog> getEntityAuditTrail(String entityType, Long entityId) {
-        return auditLogRepository.findByEntityTypeAndEntityIdOrderByTimestampDesc(entityType, entityId);
+        return auditStore.findByEntity(entityType, entityId);
+    }
+
+    /**
+     * Audit trail of an entity with full old/new values, rebuilt from stored diffs by
+     * replaying the trail oldest-first
+     */
+    public List<AuditLogResponse> getEntityAuditTrailWithValues(String entityType, Long entityId) {
+        List<AuditLog> trail = auditStore.findByEntity(entityType, entityId);
+        List<AuditLogResponse> responses = new ArrayList<>(trail.size());
+        ObjectNode state = null;
+        for (int i = trail.size() - 1; i >= 0; i--) {
+            AuditLog log = trail.get(i);
+            AuditValueEncoder.Reconstructed values = valueEncoder.reconstruct(state, log.getOldValue(), log.getNewValue());
+            state = values.getStateAfter();
+            responses.add(withValues(AuditLogResponse.fromEntity(log), values));
+        }
+        Collections.reverse(responses);
+        return responses;
+    }
+
+    /**
+     * One audit event with its full old/new values
+     */
+    public AuditLogResponse getLogWithValues(Long id) {
+        AuditLog log = auditStore.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("AuditLog", "id", id));
+        if (log.getEntityId() == null) {
+            AuditValueEncoder.Reconstructed values = valueEncoder.reconstruct(null, log.getOldValue(), log.getNewValue());
+            return withValues(AuditLogResponse.fromEntity(log), values);
+        }
+        return getEntityAuditTrailWithValues(log.getEntityType(), log.getEntityId()).stream()
+                .filter(r -> r.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("AuditLog", "id", id));
     }
 
     /**
      * Get user's audit trail
      */
     public List<AuditLog> getUserAuditTrail(Long userId) {
-        return auditLogRepository.findByUserIdOrderByTimestampDesc(userId);
+        return auditStore.findByUser(userId);
     }
 
     /**
      * Get recent audit logs with pagination
      */
     public Page<AuditLog> getRecentLogs(int page, int size) {
-        return auditLogRepository.findAllByOrderByTimestampDesc(PageRequest.of(page, size));
+        return auditStore.findRecent(page, size);
     }
 
     /**
      * Get logs by date range
      */
     public List<AuditLog> getLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return auditLogRepository.findByDateRange(startDate, endDate);
+        return auditStore.findByTimeRange(startDate, endDate);
     }
 
     /**
      * Get login history for a user
      */
     public List<AuditLog> getLoginHistory(String email) {
-        return auditLogRepository.findLoginAttemptsByEmail(email);
+        return auditStore.findLoginAttempts(email);
     }
 
     /**
-     * Check for suspicious activity (multiple failed login attempts)
+     * Check for suspicious activity (multiple failed login attempts in the limiter window).
+     * Answered from the in-memory login limiter rather than by counting audit rows.
      */
-    public boolean hasSuspiciousActivity(String email, int maxAttempts, int hoursToCheck) {
-        LocalDateTime since = LocalDateTime.now().minusHours(hoursToCheck);
-        long failedAttempts = auditLogRepository.countFailedLoginsSince(email, since);
-        return failedAttempts >= maxAttempts;
+    public boolean hasSuspiciousActivity(String email, int maxAttempts) {
+        return loginAttemptLimiter.failuresForEmail(email) >= maxAttempts;
     }
 
     /**
      * Get logs by action type
      */
     public List<AuditLog> getLogsByAction(AuditAction action) {
-        return auditLogRepository.findByActionOrderByTimestampDesc(action);
+        return auditStore.findByAction(action);
     }
 
     // Helper methods
-    private String toJson(Object obj) {
-        try {
-            return objectMapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize object to JSON: {}", e.getMessage());
-            return obj.toString();
-        }
+    private static AuditLogResponse withValues(AuditLogResponse response, AuditValueEncoder.Reconstructed values) {
+        response.setOldValue(values.getOldValue());
+        response.setNewValue(values.getNewValue());
+        return response;
     }
 
-    private String getClientIP(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        String xRealIP = request.getHeader("X-Real-IP");
-        if (xRealIP != null && !xRealIP.isEmpty()) {
-            return xRealIP;
-        }
-        return request.getRemoteAddr();
+    private void withRequest(AuditLog.AuditLogBuilder builder, HttpServletRequest request) {
+        builder.ipAddress(truncate(ClientIpResolver.resolve(request), 50))
+                .userAgent(truncate(request.getHeader("User-Agent"), 255));
+    }
+
+    // Batched inserts fail as a whole, so values are kept within the column sizes
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
     }
 }
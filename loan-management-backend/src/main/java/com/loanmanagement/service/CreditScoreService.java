@@ -4,6 +4,7 @@ import com.loanmanagement.dto.request.CreditScoreRequest;
 import com.loanmanagement.dto.response.CreditScoreResponse;
 import com.loanmanagement.entity.User;
 import com.loanmanagement.repository.UserRepository;
+import com.loanmanagement.security.UserDetailsCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,9 +16,11 @@ import java.time.LocalDateTime;
 public class CreditScoreService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public CreditScoreService(UserRepository userRepository) {
+    public CreditScoreService(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     public CreditScoreResponse getCreditScore(User user) {
@@ -44,6 +47,7 @@ public class CreditScoreService {
 
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
 
         return buildCreditScoreResponse(user);
     }
@@ -64,6 +68,7 @@ public class CreditScoreService {
 
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
 
         return buildCreditScoreResponse(user);
     }
@@ -0,0 +1,119 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.dto.response.CursorPage;
+import com.loanmanagement.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination over (createdAt, id).
+ * Cursors are opaque tokens naming the last row of the previous page, so each page is
+ * an index range scan from that row instead of an OFFSET that re-reads everything
+ * before it. Lists run oldest-first from {@link #decode} or newest-first from
+ * {@link #decodeDescending}. Page sizes are clamped to app.pagination.max-size.
+ */
+@Component
+public class CursorPaging {
+
+    // Sorts before any real row, so the first page needs no separate query
+    private static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    // Sorts after any real row, for newest-first lists
+    private static final Cursor END = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CursorPaging(@Value("${app.pagination.default-size:50}") int defaultSize,
+            @Value("${app.pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Position to continue after; the start of the list when no cursor is given
+     */
+    public Cursor decode(String token) {
+        return decode(token, START);
+    }
+
+    /**
+     * Position to continue before in a newest-first list; the newest row when no cursor
+     * is given
+     */
+    public Cursor decodeDescending(String token) {
+        return decode(token, END);
+    }
+
+    private Cursor decode(String token, Cursor fallback) {
+        if (token == null || token.isBlank()) {
+            return fallback;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    /**
+     * Fetches one row beyond the page so the presence of a next page is known
+     * without a count query.
+     */
+    public Pageable fetchLimit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    public <E, R> CursorPage<R> toPage(List<E> rows, int pageSize, Function<E, LocalDateTime> createdAt,
+            Function<E, Long> id, Function<E, R> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = null;
+        if (hasMore) {
+            E last = page.get(page.size() - 1);
+            next = encode(createdAt.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), next);
+    }
+
+    private String encode(LocalDateTime createdAt, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static final class Cursor {
+        private final LocalDateTime createdAt;
+        private final Long id;
+
+        Cursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.loanmanagement.service;
 
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.entity.*;
 import com.loanmanagement.repository.EMIScheduleRepository;
 import com.loanmanagement.repository.LoanRepository;
@@ -26,13 +27,16 @@ public class EMIScheduleService {
     private final EMIScheduleRepository emiScheduleRepository;
     private final LoanRepository loanRepository;
     private final InterestCalculationService interestCalculationService;
+    private final CursorPaging cursorPaging;
 
     public EMIScheduleService(EMIScheduleRepository emiScheduleRepository,
             LoanRepository loanRepository,
-            InterestCalculationService interestCalculationService) {
+            InterestCalculationService interestCalculationService,
+            CursorPaging cursorPaging) {
         this.emiScheduleRepository = emiScheduleRepository;
         this.loanRepository = loanRepository;
         this.interestCalculationService = interestCalculationService;
+        this.cursorPaging = cursorPaging;
     }
 
     /**
@@ -147,10 +151,14 @@ public class EMIScheduleService {
     }
 
     /**
-     * Get all overdue EMIs across all loans
+     * Get a page of overdue EMIs across all loans
      */
-    public List<EMISchedule> getAllOverdueEMIs() {
-        return emiScheduleRepository.findAllOverdueEMIs(LocalDate.now());
+    public CursorPage<EMISchedule> getAllOverdueEMIs(String cursor, Integer size) {
+        CursorPaging.Cursor after = cursorPaging.decode(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        List<EMISchedule> rows = emiScheduleRepository.findOverduePageAfter(LocalDate.now(), after.getCreatedAt(),
+                after.getId(), cursorPaging.fetchLimit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, EMISchedule::getCreatedAt, EMISchedule::getId, emi -> emi);
     }
 
     /**
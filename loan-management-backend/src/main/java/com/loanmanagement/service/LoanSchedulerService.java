@@ -181,7 +181,6 @@ public class LoanSchedulerService {
      * Monthly job (1st of month at 1 AM): Cleanup old notifications
      */
     @Scheduled(cron = "0 0 1 1 * *") // 1st of every month at 1:00 AM
-    @Transactional
     public void cleanupOldNotifications() {
         logger.info("Running scheduled task: Cleanup old notifications");
 
@@ -2,6 +2,7 @@ package com.loanmanagement.service;
 
 import com.loanmanagement.dto.request.CreateLoanRequest;
 import com.loanmanagement.dto.request.LoanApplicationRequest;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.LoanApplicationResponse;
 import com.loanmanagement.dto.response.LoanResponse;
 import com.loanmanagement.entity.*;
@@ -35,16 +36,19 @@ public class LoanService {
     private final TransactionRepository transactionRepository;
     private final EMIScheduleService emiScheduleService;
     private final InterestCalculationService interestCalculationService;
+    private final CursorPaging cursorPaging;
 
     public LoanService(LoanRepository loanRepository, LoanApplicationRepository applicationRepository,
             PaymentRepository paymentRepository, TransactionRepository transactionRepository,
-            EMIScheduleService emiScheduleService, InterestCalculationService interestCalculationService) {
+            EMIScheduleService emiScheduleService, InterestCalculationService interestCalculationService,
+            CursorPaging cursorPaging) {
         this.loanRepository = loanRepository;
         this.applicationRepository = applicationRepository;
         this.paymentRepository = paymentRepository;
         this.transactionRepository = transactionRepository;
         this.emiScheduleService = emiScheduleService;
         this.interestCalculationService = interestCalculationService;
+        this.cursorPaging = cursorPaging;
     }
 
     @Transactional
@@ -69,10 +73,12 @@ public class LoanService {
         return LoanResponse.fromEntity(loan);
     }
 
-    public List<LoanResponse> getLoansByLender(User lender) {
-        return loanRepository.findByLender(lender).stream()
-                .map(LoanResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<LoanResponse> getLoansByLender(User lender, String cursor, Integer size) {
+        CursorPaging.Cursor after = cursorPaging.decode(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        List<Loan> rows = loanRepository.findPageByLenderAfter(lender, after.getCreatedAt(), after.getId(),
+                cursorPaging.fetchLimit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, Loan::getCreatedAt, Loan::getId, LoanResponse::fromEntity);
     }
 
     public List<LoanResponse> getLoansByBorrower(User borrower) {
@@ -81,10 +87,12 @@ public class LoanService {
                 .collect(Collectors.toList());
     }
 
-    public List<LoanResponse> getAvailableLoanOffers() {
-        return loanRepository.findAvailableLoanOffers().stream()
-                .map(LoanResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<LoanResponse> getAvailableLoanOffers(String cursor, Integer size) {
+        CursorPaging.Cursor after = cursorPaging.decode(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        List<Loan> rows = loanRepository.findAvailableLoanOffersAfter(after.getCreatedAt(), after.getId(),
+                cursorPaging.fetchLimit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, Loan::getCreatedAt, Loan::getId, LoanResponse::fromEntity);
     }
 
     public LoanResponse getLoanById(Long id) {
@@ -93,10 +101,12 @@ public class LoanService {
         return LoanResponse.fromEntity(loan);
     }
 
-    public List<LoanResponse> getAllLoans() {
-        return loanRepository.findAll().stream()
-                .map(LoanResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<LoanResponse> getAllLoans(String cursor, Integer size) {
+        CursorPaging.Cursor after = cursorPaging.decode(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        List<Loan> rows = loanRepository.findPageWithPartiesAfter(after.getCreatedAt(), after.getId(),
+                cursorPaging.fetchLimit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, Loan::getCreatedAt, Loan::getId, LoanResponse::fromEntity);
     }
 
     @Transactional
@@ -0,0 +1,236 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of new notifications to connected SSE clients.
+ * <p>
+ * Each connection is an async-servlet SseEmitter with a small bounded buffer; sends
+ * happen on virtual threads so a slow client never blocks the publisher. When a buffer
+ * is full the oldest pending event is dropped (clients can re-read the inbox). Events
+ * published inside a transaction are delivered only after it commits. Heartbeat
+ * comments keep idle connections open through proxies.
+ */
+@Component
+public class NotificationHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationHub.class);
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final TaskExecutor pushExecutor;
+    private final Counter droppedEvents;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+
+    public NotificationHub(@Qualifier("notificationPushExecutor") TaskExecutor pushExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.sse.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${app.notifications.sse.buffer-size:32}") int bufferSize,
+            @Value("${app.notifications.sse.max-connections-per-user:3}") int maxConnectionsPerUser) {
+        this.pushExecutor = pushExecutor;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.droppedEvents = Counter.builder("notifications.sse.dropped").register(meterRegistry);
+        Gauge.builder("notifications.sse.connections", connections, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for the user. The oldest connection is closed once the user has
+     * more than the allowed number open.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        // Added inside compute so a concurrent remove cannot drop the list we add to
+        List<Subscriber> userSubscribers = subscribers.compute(userId, (id, list) -> {
+            List<Subscriber> target = list != null ? list : new CopyOnWriteArrayList<>();
+            target.add(subscriber);
+            return target;
+        });
+        connections.incrementAndGet();
+        while (userSubscribers.size() > maxConnectionsPerUser) {
+            userSubscribers.get(0).close();
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.offer(() -> SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Push a new notification to the user's open streams
+     */
+    public void publish(Long userId, NotificationResponse notification) {
+        publish(userId, () -> SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name("notification")
+                .data(notification));
+    }
+
+    /**
+     * Push a named event to the user's open streams, after the current transaction
+     * commits if there is one
+     */
+    public void publish(Long userId, String eventName, Object data) {
+        publish(userId, () -> SseEmitter.event().name(eventName).data(data));
+    }
+
+    /**
+     * Like {@link #publish(Long, String, Object)}, but the data is read when the event is
+     * sent, so clients always get the latest value (e.g. the unread count)
+     */
+    public void publishLatest(Long userId, String eventName, Supplier<?> data) {
+        publish(userId, () -> SseEmitter.event().name(eventName).data(data.get()));
+    }
+
+    /**
+     * Every 25 seconds: Send a heartbeat to idle connections
+     */
+    @Scheduled(fixedRateString = "${app.notifications.sse.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> {
+            if (subscriber.isIdle()) {
+                subscriber.offer(() -> SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    // Builders are single-use, so events are queued as factories and built per send
+    private void publish(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (userId == null || !subscribers.containsKey(userId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(userId, event);
+                }
+            });
+        } else {
+            dispatch(userId, event);
+        }
+    }
+
+    private void dispatch(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * One open stream: a bounded buffer drained by at most one sender at a time
+     */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Supplier<SseEmitter.SseEventBuilder>> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastSentAt = System.nanoTime();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed.get()) {
+                return;
+            }
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.increment();
+                }
+                buffer.addLast(event);
+            }
+            if (draining.compareAndSet(false, true)) {
+                pushExecutor.execute(this::drain);
+            }
+        }
+
+        boolean isIdle() {
+            return System.nanoTime() - lastSentAt > TimeUnit.SECONDS.toNanos(10);
+        }
+
+        void close() {
+            remove(this);
+            emitter.complete();
+        }
+
+        private void drain() {
+            while (true) {
+                Supplier<SseEmitter.SseEventBuilder> next;
+                synchronized (buffer) {
+                    next = buffer.pollFirst();
+                    if (next == null) {
+                        draining.set(false);
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next.get());
+                    lastSentAt = System.nanoTime();
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the servlet container reports it via onError/onCompletion too
+                    logger.debug("Dropping SSE stream for user {}: {}", userId, e.getMessage());
+                    synchronized (buffer) {
+                        buffer.clear();
+                        draining.set(false);
+                    }
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
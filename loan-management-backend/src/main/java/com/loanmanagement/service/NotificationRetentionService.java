@@ -0,0 +1,170 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes old notifications without long-running transactions.
+ * <p>
+ * Deletes walk the notifications id range in fixed-size chunks, each in its own short
+ * transaction, pausing between chunks and stopping once the run's time budget is spent
+ * (the next run picks up where it left off). With partitioning enabled, rows past the
+ * hard retention are removed a month at a time: by dropping the month's partition on a
+ * partitioned PostgreSQL table, or by the same chunked delete elsewhere (e.g. H2).
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTx;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long budgetMillis;
+    private final boolean partitioningEnabled;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private volatile Boolean partitioned;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.notifications.cleanup.batch-size:5000}") int batchSize,
+            @Value("${app.notifications.cleanup.pause-ms:50}") long pauseMillis,
+            @Value("${app.notifications.cleanup.max-duration-minutes:30}") long maxDurationMinutes,
+            @Value("${app.notifications.partitioning.enabled:false}") boolean partitioningEnabled,
+            @Value("${app.notifications.partitioning.retention-months:12}") int retentionMonths,
+            @Value("${app.notifications.partitioning.premake-months:2}") int premakeMonths) {
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.budgetMillis = TimeUnit.MINUTES.toMillis(maxDurationMinutes);
+        this.partitioningEnabled = partitioningEnabled;
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+    }
+
+    /**
+     * Delete read notifications created before the cutoff. Returns the number deleted.
+     */
+    public int purgeReadBefore(LocalDateTime cutoff) {
+        return deleteInChunks(cutoff, true);
+    }
+
+    /**
+     * Daily job at 1:30 AM: Create upcoming monthly partitions and drop notifications
+     * past the hard retention (all of them, read or not)
+     */
+    @Scheduled(cron = "${app.notifications.partitioning.maintenance-cron:0 30 1 * * *}")
+    public void maintainPartitions() {
+        if (!partitioningEnabled) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        if (isPartitioned()) {
+            createUpcomingPartitions();
+            dropPartitionsBefore(oldestKept);
+        } else {
+            int deleted = deleteInChunks(oldestKept.atDay(1).atStartOfDay(), false);
+            logger.info("Retention removed {} notifications created before {}", deleted, oldestKept);
+        }
+    }
+
+    private int deleteInChunks(LocalDateTime cutoff, boolean readOnly) {
+        Long minId = notificationRepository.findMinIdCreatedBefore(cutoff);
+        Long maxId = notificationRepository.findMaxIdCreatedBefore(cutoff);
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        long deadline = System.currentTimeMillis() + budgetMillis;
+        int deleted = 0;
+        for (long from = minId; from <= maxId; from += batchSize) {
+            long fromId = from;
+            long toId = from + batchSize - 1;
+            Integer count = batchTx.execute(status -> readOnly
+                    ? notificationRepository.deleteReadInIdRangeCreatedBefore(fromId, toId, cutoff)
+                    : notificationRepository.deleteInIdRangeCreatedBefore(fromId, toId, cutoff));
+            deleted += count != null ? count : 0;
+
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("Notification cleanup stopped at id {} of {} after spending its time budget; "
+                        + "the next run continues", toId, maxId);
+                break;
+            }
+            if (pauseMillis > 0 && toId < maxId) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++, month = month.plusMonths(1)) {
+            String sql = String.format(
+                    "CREATE TABLE IF NOT EXISTS notifications_p%s PARTITION OF notifications "
+                            + "FOR VALUES FROM ('%s') TO ('%s')",
+                    month.format(PARTITION_SUFFIX), month.atDay(1), month.plusMonths(1).atDay(1));
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (DataAccessException e) {
+                logger.error("Could not create notification partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    private void dropPartitionsBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = 'notifications'", String.class);
+        for (String name : partitions) {
+            if (!name.matches("notifications_p\\d{6}")) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(name.substring(name.length() - 6), PARTITION_SUFFIX);
+            if (month.isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                logger.info("Dropped notification partition {}", name);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equalsIgnoreCase(product) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt "
+                            + "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'notifications')",
+                    Boolean.class));
+        }
+        return partitioned;
+    }
+}
@@ -1,9 +1,13 @@
 package com.loanmanagement.service;
 
+import com.loanmanagement.dto.response.CursorPage;
+import com.loanmanagement.dto.response.NotificationResponse;
 import com.loanmanagement.entity.*;
+import com.loanmanagement.exception.BadRequestException;
 import com.loanmanagement.repository.NotificationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,23 +25,26 @@ public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotificationRepository notificationRepository;
-
-    public NotificationService(NotificationRepository notificationRepository) {
+    private final NotificationHub notificationHub;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationRetentionService retentionService;
+    private final CursorPaging cursorPaging;
+
+    public NotificationService(NotificationRepository notificationRepository, NotificationHub notificationHub,
+            UnreadNotificationCounter unreadCounter, NotificationRetentionService retentionService,
+            CursorPaging cursorPaging) {
         this.notificationRepository = notificationRepository;
+        this.notificationHub = notificationHub;
+        this.unreadCounter = unreadCounter;
+        this.retentionService = retentionService;
+        this.cursorPaging = cursorPaging;
     }
 
     /**
      * Create a notification for a user
      */
     public Notification createNotification(User user, NotificationType type, String title, String message) {
-        Notification notification = Notification.builder()
-                .user(user)
-                .type(type)
-                .title(title)
-                .message(message)
-                .build();
-
-        return notificationRepository.save(notification);
+        return createNotification(user, type, title, message, null, null);
     }
 
     /**
@@ -54,7 +61,11 @@ public class NotificationService {
                 .relatedEntityId(entityId)
                 .build();
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        // Connected clients get it pushed instead of polling
+        notificationHub.publish(user.getId(), NotificationResponse.fromEntity(saved));
+        unreadCounter.increment(user.getId());
+        return saved;
     }
 
     /**
@@ -147,24 +158,35 @@ public class NotificationService {
     }
 
     /**
-     * Get all notifications for a user
+     * Newest-first page of a user's inbox, optionally limited to one type and/or unread
      */
-    public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-    }
+    public CursorPage<NotificationResponse> getInbox(Long userId, String type, boolean unreadOnly,
+            String cursor, Integer size) {
+        CursorPaging.Cursor before = cursorPaging.decodeDescending(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        Pageable limit = cursorPaging.fetchLimit(pageSize);
 
-    /**
-     * Get unread notifications
-     */
-    public List<Notification> getUnreadNotifications(Long userId) {
-        return notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
+        List<Notification> rows;
+        if (type != null && !type.isBlank() && unreadOnly) {
+            rows = notificationRepository.findUnreadPageByTypeBefore(userId, parseType(type),
+                    before.getCreatedAt(), before.getId(), limit);
+        } else if (type != null && !type.isBlank()) {
+            rows = notificationRepository.findInboxPageByTypeBefore(userId, parseType(type),
+                    before.getCreatedAt(), before.getId(), limit);
+        } else if (unreadOnly) {
+            rows = notificationRepository.findUnreadPageBefore(userId, before.getCreatedAt(), before.getId(), limit);
+        } else {
+            rows = notificationRepository.findInboxPageBefore(userId, before.getCreatedAt(), before.getId(), limit);
+        }
+        return cursorPaging.toPage(rows, pageSize, Notification::getCreatedAt, Notification::getId,
+                NotificationResponse::fromEntity);
     }
 
     /**
      * Count unread notifications
      */
     public long countUnreadNotifications(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return unreadCounter.get(userId);
     }
 
     /**
@@ -175,10 +197,15 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
+        if (notification.isRead()) {
+            return notification;
+        }
         notification.setRead(true);
         notification.setReadAt(LocalDateTime.now());
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.decrement(notification.getUser().getId());
+        return saved;
     }
 
     /**
@@ -186,23 +213,39 @@ public class NotificationService {
      */
     @Transactional
     public int markAllAsRead(Long userId) {
-        return notificationRepository.markAllAsRead(userId);
+        int updated = notificationRepository.markAllAsRead(userId);
+        unreadCounter.reset(userId);
+        return updated;
     }
 
     /**
      * Delete a notification
      */
+    @Transactional
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            if (!notification.isRead()) {
+                unreadCounter.decrement(notification.getUser().getId());
+            }
+        });
     }
 
     /**
-     * Cleanup old read notifications (older than 30 days)
+     * Cleanup old read notifications (older than 30 days). Only read notifications are
+     * removed, so unread counts are unaffected. Runs in short per-batch transactions.
      */
-    @Transactional
     public int cleanupOldNotifications() {
         LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
-        return notificationRepository.deleteOldReadNotifications(cutoff);
+        return retentionService.purgeReadBefore(cutoff);
+    }
+
+    private NotificationType parseType(String type) {
+        try {
+            return NotificationType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid notification type: " + type);
+        }
     }
 
     private String formatCurrency(BigDecimal amount) {
@@ -0,0 +1,164 @@
+package com.loanmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only queries concurrently on the bounded dashboard executor.
+ * Each query gets its own read-only transaction whose timeout is the time left until the
+ * batch deadline, which Spring applies as the JDBC/JPA query timeout, so abandoned
+ * queries stop instead of holding connections. Queries that fail, are rejected by a
+ * saturated pool or miss the deadline are reported as unavailable instead of failing
+ * the whole request.
+ */
+@Component
+public class ParallelQueryRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelQueryRunner.class);
+
+    private final Executor executor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.dashboard.parallel:true}")
+    private boolean parallel;
+
+    @Value("${app.dashboard.timeout-ms:3000}")
+    private long timeoutMs;
+
+    public ParallelQueryRunner(@Qualifier("dashboardExecutor") Executor executor,
+            PlatformTransactionManager transactionManager) {
+        this.executor = executor;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Start a new batch of independent queries
+     */
+    public Batch batch() {
+        return new Batch(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    public class Batch {
+
+        private final long deadline;
+        private final Map<String, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+
+        Batch(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Schedule a named query. In sequential mode it runs immediately on the caller thread.
+         */
+        public Batch submit(String name, Supplier<?> query) {
+            Supplier<Object> inTx = () -> readOnlyTx(name).execute(status -> query.get());
+            CompletableFuture<Object> future;
+            if (parallel) {
+                try {
+                    future = CompletableFuture.supplyAsync(inTx, executor);
+                } catch (TaskRejectedException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+            } else {
+                try {
+                    future = CompletableFuture.completedFuture(inTx.get());
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+            }
+            futures.put(name, future);
+            return this;
+        }
+
+        /**
+         * Wait until all queries finish or the deadline passes, whichever comes first
+         */
+        public Results await() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            List<String> unavailable = new ArrayList<>();
+
+            for (Map.Entry<String, CompletableFuture<Object>> entry : futures.entrySet()) {
+                long remaining = deadline - System.nanoTime();
+                try {
+                    values.put(entry.getKey(), entry.getValue().get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+                } catch (java.util.concurrent.TimeoutException e) {
+                    // Skips the query if still queued; a running one hits its transaction timeout
+                    entry.getValue().cancel(false);
+                    unavailable.add(entry.getKey());
+                    logger.warn("Dashboard query '{}' exceeded {} ms", entry.getKey(), timeoutMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    unavailable.add(entry.getKey());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    unavailable.add(entry.getKey());
+                    if (e.getCause() instanceof TaskRejectedException) {
+                        logger.warn("Dashboard query '{}' rejected, executor saturated", entry.getKey());
+                    } else {
+                        logger.error("Dashboard query '{}' failed: {}", entry.getKey(), e.getCause().getMessage());
+                    }
+                }
+            }
+            return new Results(values, unavailable);
+        }
+
+        // Read-only transaction timing out at the batch deadline
+        private TransactionTemplate readOnlyTx(String name) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                throw new IllegalStateException("Deadline passed before query '" + name + "' started");
+            }
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            tx.setTimeout((int) Math.max(1, (remainingMs + 999) / 1000));
+            return tx;
+        }
+    }
+
+    public static class Results {
+
+        private final Map<String, Object> values;
+        private final List<String> unavailable;
+
+        Results(Map<String, Object> values, List<String> unavailable) {
+            this.values = values;
+            this.unavailable = Collections.unmodifiableList(unavailable);
+        }
+
+        /**
+         * Get a query result, or the fallback if it was unavailable
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(String name, T fallback) {
+            Object value = values.get(name);
+            return value != null ? (T) value : fallback;
+        }
+
+        public boolean isAvailable(String name) {
+            return values.containsKey(name);
+        }
+
+        public boolean isPartial() {
+            return !unavailable.isEmpty();
+        }
+
+        public List<String> getUnavailable() {
+            return unavailable;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.loanmanagement.service;
 
 import com.loanmanagement.dto.request.PaymentRequest;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.PaymentResponse;
 import com.loanmanagement.entity.*;
 import com.loanmanagement.exception.BadRequestException;
@@ -23,12 +24,14 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final LoanRepository loanRepository;
     private final TransactionRepository transactionRepository;
+    private final CursorPaging cursorPaging;
 
     public PaymentService(PaymentRepository paymentRepository, LoanRepository loanRepository,
-            TransactionRepository transactionRepository) {
+            TransactionRepository transactionRepository, CursorPaging cursorPaging) {
         this.paymentRepository = paymentRepository;
         this.loanRepository = loanRepository;
         this.transactionRepository = transactionRepository;
+        this.cursorPaging = cursorPaging;
     }
 
     public List<PaymentResponse> getPaymentSchedule(Long loanId) {
@@ -40,10 +43,12 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
-    public List<PaymentResponse> getPaymentsByBorrower(Long borrowerId) {
-        return paymentRepository.findByBorrowerIdOrderByDueDateAsc(borrowerId).stream()
-                .map(PaymentResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<PaymentResponse> getPaymentsByBorrower(Long borrowerId, String cursor, Integer size) {
+        CursorPaging.Cursor after = cursorPaging.decode(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        List<Payment> rows = paymentRepository.findPageByBorrowerIdAfter(borrowerId, after.getCreatedAt(),
+                after.getId(), cursorPaging.fetchLimit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, Payment::getCreatedAt, Payment::getId, PaymentResponse::fromEntity);
     }
 
     @Transactional
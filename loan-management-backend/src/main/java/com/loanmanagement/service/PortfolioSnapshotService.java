@@ -0,0 +1,156 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.entity.LoanStatus;
+import com.loanmanagement.entity.PortfolioSnapshot;
+import com.loanmanagement.entity.TransactionType;
+import com.loanmanagement.exception.BadRequestException;
+import com.loanmanagement.repository.LoanRepository;
+import com.loanmanagement.repository.PaymentRepository;
+import com.loanmanagement.repository.PortfolioSnapshotRepository;
+import com.loanmanagement.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captures daily portfolio KPI snapshots and serves them as chart series.
+ * Trend reads only touch portfolio_snapshots, never the transactions ledger.
+ */
+@Service
+public class PortfolioSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioSnapshotService.class);
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final PortfolioSnapshotRepository snapshotRepository;
+    private final LoanRepository loanRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionRepository transactionRepository;
+
+    public PortfolioSnapshotService(PortfolioSnapshotRepository snapshotRepository,
+            LoanRepository loanRepository,
+            PaymentRepository paymentRepository,
+            TransactionRepository transactionRepository) {
+        this.snapshotRepository = snapshotRepository;
+        this.loanRepository = loanRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Daily job at 00:15: Snapshot the portfolio as of the close of the previous day
+     */
+    @Scheduled(cron = "${app.analytics.snapshot-cron:0 15 0 * * *}")
+    public void captureDailySnapshot() {
+        logger.info("Running scheduled task: Capture portfolio snapshot");
+        PortfolioSnapshot snapshot = captureSnapshot(LocalDate.now().minusDays(1));
+        logger.info("Portfolio snapshot stored for {}", snapshot.getSnapshotDate());
+    }
+
+    /**
+     * Capture (or re-capture) the snapshot for a given day.
+     * Point-in-time KPIs reflect the current state; collections cover the given day.
+     */
+    @Transactional
+    public PortfolioSnapshot captureSnapshot(LocalDate date) {
+        PortfolioSnapshot snapshot = snapshotRepository.findBySnapshotDate(date)
+                .orElseGet(PortfolioSnapshot::new);
+        snapshot.setSnapshotDate(date);
+
+        long active = loanRepository.countByStatus(LoanStatus.ACTIVE);
+        long completed = loanRepository.countByStatus(LoanStatus.COMPLETED);
+        long defaulted = loanRepository.countByStatus(LoanStatus.DEFAULTED);
+        snapshot.setActiveLoans(active);
+        snapshot.setCompletedLoans(completed);
+        snapshot.setDefaultedLoans(defaulted);
+
+        BigDecimal outstanding = loanRepository.sumRemainingBalanceByStatus(LoanStatus.ACTIVE);
+        snapshot.setOutstandingPrincipal(outstanding != null ? outstanding : BigDecimal.ZERO);
+
+        snapshot.setOverdueCount(paymentRepository.countOverduePayments(date));
+        BigDecimal overdue = paymentRepository.sumOverdueAmount(date);
+        snapshot.setOverdueAmount(overdue != null ? overdue : BigDecimal.ZERO);
+
+        long closed = completed + defaulted;
+        snapshot.setDefaultRate(closed > 0
+                ? BigDecimal.valueOf(defaulted * 100).divide(BigDecimal.valueOf(closed), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+
+        for (TransactionType type : TransactionType.values()) {
+            snapshot.setCollection(type, BigDecimal.ZERO);
+        }
+        List<Object[]> collections = transactionRepository.sumAmountGroupedByTypeBetween(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        for (Object[] row : collections) {
+            snapshot.setCollection((TransactionType) row[0], (BigDecimal) row[1]);
+        }
+
+        return snapshotRepository.save(snapshot);
+    }
+
+    /**
+     * Get KPI series for a date range, one array per metric aligned with "dates"
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTrends(LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<PortfolioSnapshot> snapshots = snapshotRepository
+                .findBySnapshotDateBetweenOrderBySnapshotDateAsc(start, end);
+
+        int n = snapshots.size();
+        List<LocalDate> dates = new ArrayList<>(n);
+        List<Long> activeLoans = new ArrayList<>(n);
+        List<BigDecimal> outstandingPrincipal = new ArrayList<>(n);
+        List<Long> overdueCount = new ArrayList<>(n);
+        List<BigDecimal> overdueAmount = new ArrayList<>(n);
+        List<BigDecimal> defaultRate = new ArrayList<>(n);
+        Map<String, List<BigDecimal>> collections = new LinkedHashMap<>();
+        for (TransactionType type : TransactionType.values()) {
+            collections.put(type.name(), new ArrayList<>(n));
+        }
+
+        for (PortfolioSnapshot s : snapshots) {
+            dates.add(s.getSnapshotDate());
+            activeLoans.add(s.getActiveLoans());
+            outstandingPrincipal.add(s.getOutstandingPrincipal());
+            overdueCount.add(s.getOverdueCount());
+            overdueAmount.add(s.getOverdueAmount());
+            defaultRate.add(s.getDefaultRate());
+            for (TransactionType type : TransactionType.values()) {
+                collections.get(type.name()).add(s.getCollection(type));
+            }
+        }
+
+        Map<String, Object> trends = new LinkedHashMap<>();
+        trends.put("startDate", start);
+        trends.put("endDate", end);
+        trends.put("dates", dates);
+        trends.put("activeLoans", activeLoans);
+        trends.put("outstandingPrincipal", outstandingPrincipal);
+        trends.put("overdueCount", overdueCount);
+        trends.put("overdueAmount", overdueAmount);
+        trends.put("defaultRate", defaultRate);
+        trends.put("collectionsByType", collections);
+        return trends;
+    }
+}
@@ -11,6 +11,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Dashboard and analytics aggregation.
+ * Independent repository calls are fanned out through {@link ParallelQueryRunner};
+ * metrics whose sub-query fails or times out are listed under "unavailableMetrics".
+ */
 @Service
 public class ReportService {
 
@@ -19,171 +24,196 @@ public class ReportService {
     private final LoanApplicationRepository applicationRepository;
     private final PaymentRepository paymentRepository;
     private final TransactionRepository transactionRepository;
+    private final ParallelQueryRunner queryRunner;
 
     public ReportService(UserRepository userRepository, LoanRepository loanRepository,
             LoanApplicationRepository applicationRepository, PaymentRepository paymentRepository,
-            TransactionRepository transactionRepository) {
+            TransactionRepository transactionRepository, ParallelQueryRunner queryRunner) {
         this.userRepository = userRepository;
         this.loanRepository = loanRepository;
         this.applicationRepository = applicationRepository;
         this.paymentRepository = paymentRepository;
         this.transactionRepository = transactionRepository;
+        this.queryRunner = queryRunner;
     }
 
     public DashboardResponse getAdminDashboard() {
+        ParallelQueryRunner.Results results = queryRunner.batch()
+                .submit("totalUsers", () -> userRepository.count())
+                .submit("totalLoans", () -> loanRepository.count())
+                .submit("activeLoans", () -> loanRepository.countByStatus(LoanStatus.ACTIVE))
+                .submit("pendingApplications", () -> applicationRepository.countByStatus(ApplicationStatus.PENDING))
+                .submit("totalLoanAmount", this::sumLoanAmounts)
+                .submit("totalPaidAmount", this::sumPaidAmounts)
+                .submit("overdueAmount", this::sumOverdueAmounts)
+                .await();
+
         return DashboardResponse.builder()
-                .totalUsers(userRepository.count())
-                .totalLoans(loanRepository.count())
-                .activeLoans(loanRepository.findByStatus(LoanStatus.ACTIVE).size())
-                .pendingApplications(applicationRepository.countByStatus(ApplicationStatus.PENDING))
-                .totalLoanAmount(sumLoanAmounts())
-                .totalPaidAmount(sumPaidAmounts())
-                .overdueAmount(sumOverdueAmounts())
+                .totalUsers(results.get("totalUsers", 0L))
+                .totalLoans(results.get("totalLoans", 0L))
+                .activeLoans(results.get("activeLoans", 0L))
+                .pendingApplications(results.get("pendingApplications", 0L))
+                .totalLoanAmount(results.get("totalLoanAmount", null))
+                .totalPaidAmount(results.get("totalPaidAmount", null))
+                .overdueAmount(results.get("overdueAmount", null))
+                .unavailableMetrics(results.isPartial() ? results.getUnavailable() : null)
                 .build();
     }
 
     public Map<String, Object> getLenderDashboard(User lender) {
         Map<String, Object> dashboard = new HashMap<>();
 
-        List<Loan> lenderLoans = loanRepository.findByLender(lender);
-
-        dashboard.put("totalLoansCreated", lenderLoans.size());
-        dashboard.put("activeLoans", lenderLoans.stream().filter(l -> l.getStatus() == LoanStatus.ACTIVE).count());
-        dashboard.put("completedLoans",
-                lenderLoans.stream().filter(l -> l.getStatus() == LoanStatus.COMPLETED).count());
-        dashboard.put("pendingOffers", lenderLoans.stream().filter(l -> l.getStatus() == LoanStatus.PENDING).count());
-
-        // Amount Invested (Total principal amount lent out)
-        BigDecimal totalLent = lenderLoans.stream()
-                .filter(l -> l.getStatus() == LoanStatus.ACTIVE || l.getStatus() == LoanStatus.COMPLETED)
-                .map(Loan::getPrincipalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dashboard.put("totalLentAmount", totalLent);
+        ParallelQueryRunner.Results results = queryRunner.batch()
+                .submit("loans", () -> summarizeLenderLoans(lender))
+                // Amount Reclaimed (sum of principal portions from approved/paid payments)
+                .submit("amountReclaimed", () -> paymentRepository.sumPrincipalReclaimedByLender(lender.getId()))
+                // Total Interest Earned (sum of interest portions from approved/paid payments)
+                .submit("interestEarned", () -> paymentRepository.sumInterestEarnedByLender(lender.getId()))
+                .await();
 
-        // Total Amount Distributed (same as totalLent for 12%club)
-        dashboard.put("totalDistributed", totalLent);
+        dashboard.putAll(results.get("loans", Map.of()));
 
-        // Amount Reclaimed (sum of principal portions from approved/paid payments)
-        BigDecimal amountReclaimed = paymentRepository.sumPrincipalReclaimedByLender(lender.getId());
-        dashboard.put("amountReclaimed", amountReclaimed != null ? amountReclaimed : BigDecimal.ZERO);
+        BigDecimal amountReclaimed = results.get("amountReclaimed", BigDecimal.ZERO);
+        dashboard.put("amountReclaimed", amountReclaimed);
 
-        // Total Interest Earned (sum of interest portions from approved/paid payments)
-        BigDecimal interestEarned = paymentRepository.sumInterestEarnedByLender(lender.getId());
-        dashboard.put("interestEarned", interestEarned != null ? interestEarned : BigDecimal.ZERO);
-        dashboard.put("totalInterestEarned", interestEarned != null ? interestEarned : BigDecimal.ZERO);
+        BigDecimal interestEarned = results.get("interestEarned", BigDecimal.ZERO);
+        dashboard.put("interestEarned", interestEarned);
+        dashboard.put("totalInterestEarned", interestEarned);
 
+        putUnavailable(dashboard, results);
         return dashboard;
     }
 
     public Map<String, Object> getBorrowerDashboard(User borrower) {
         Map<String, Object> dashboard = new HashMap<>();
 
-        List<Loan> borrowerLoans = loanRepository.findByBorrower(borrower);
+        ParallelQueryRunner.Results results = queryRunner.batch()
+                .submit("loans", () -> summarizeBorrowerLoans(borrower))
+                .submit("upcomingPayments", () -> paymentRepository
+                        .findByBorrowerIdOrderByDueDateAsc(borrower.getId())
+                        .stream()
+                        .filter(p -> p.getStatus() == PaymentStatus.PENDING)
+                        .limit(5)
+                        .count())
+                .await();
 
-        dashboard.put("totalLoans", borrowerLoans.size());
-        dashboard.put("activeLoans", borrowerLoans.stream().filter(l -> l.getStatus() == LoanStatus.ACTIVE).count());
-        dashboard.put("completedLoans",
-                borrowerLoans.stream().filter(l -> l.getStatus() == LoanStatus.COMPLETED).count());
-
-        BigDecimal totalBorrowed = borrowerLoans.stream()
-                .map(Loan::getPrincipalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dashboard.put("totalBorrowedAmount", totalBorrowed);
-
-        BigDecimal totalRemaining = borrowerLoans.stream()
-                .filter(l -> l.getStatus() == LoanStatus.ACTIVE)
-                .map(Loan::getRemainingBalance)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dashboard.put("totalRemainingBalance", totalRemaining);
-
-        List<Payment> upcomingPayments = paymentRepository.findByBorrowerIdOrderByDueDateAsc(borrower.getId())
-                .stream()
-                .filter(p -> p.getStatus() == PaymentStatus.PENDING)
-                .limit(5)
-                .toList();
-        dashboard.put("upcomingPayments", upcomingPayments.size());
+        dashboard.putAll(results.get("loans", Map.of()));
+        dashboard.put("upcomingPayments", results.get("upcomingPayments", 0L).intValue());
 
+        putUnavailable(dashboard, results);
         return dashboard;
     }
 
     public Map<String, Object> getLoanAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
 
-        Map<String, Long> statusDistribution = new HashMap<>();
+        ParallelQueryRunner.Batch batch = queryRunner.batch();
         for (LoanStatus status : LoanStatus.values()) {
-            statusDistribution.put(status.name(), (long) loanRepository.findByStatus(status).size());
+            batch.submit(status.name(), () -> loanRepository.countByStatus(status));
         }
-        analytics.put("statusDistribution", statusDistribution);
+        batch.submit("averages", () -> {
+            Map<String, Object> averages = new HashMap<>();
+            List<Loan> allLoans = loanRepository.findAll();
+            if (!allLoans.isEmpty()) {
+                BigDecimal avgAmount = allLoans.stream()
+                        .map(Loan::getPrincipalAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add)
+                        .divide(BigDecimal.valueOf(allLoans.size()), 2, java.math.RoundingMode.HALF_UP);
+                averages.put("averageLoanAmount", avgAmount);
+
+                BigDecimal avgInterestRate = allLoans.stream()
+                        .map(Loan::getInterestRate)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add)
+                        .divide(BigDecimal.valueOf(allLoans.size()), 2, java.math.RoundingMode.HALF_UP);
+                averages.put("averageInterestRate", avgInterestRate);
+            }
+            return averages;
+        });
+        ParallelQueryRunner.Results results = batch.await();
 
-        List<Loan> allLoans = loanRepository.findAll();
-        if (!allLoans.isEmpty()) {
-            BigDecimal avgAmount = allLoans.stream()
-                    .map(Loan::getPrincipalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(allLoans.size()), 2, java.math.RoundingMode.HALF_UP);
-            analytics.put("averageLoanAmount", avgAmount);
-
-            BigDecimal avgInterestRate = allLoans.stream()
-                    .map(Loan::getInterestRate)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(allLoans.size()), 2, java.math.RoundingMode.HALF_UP);
-            analytics.put("averageInterestRate", avgInterestRate);
+        Map<String, Long> statusDistribution = new HashMap<>();
+        for (LoanStatus status : LoanStatus.values()) {
+            if (results.isAvailable(status.name())) {
+                statusDistribution.put(status.name(), results.get(status.name(), 0L));
+            }
         }
+        analytics.put("statusDistribution", statusDistribution);
+        analytics.putAll(results.get("averages", Map.of()));
 
-        long totalCompleted = loanRepository.findByStatus(LoanStatus.COMPLETED).size()
-                + loanRepository.findByStatus(LoanStatus.DEFAULTED).size();
+        long completed = statusDistribution.getOrDefault(LoanStatus.COMPLETED.name(), 0L);
+        long defaulted = statusDistribution.getOrDefault(LoanStatus.DEFAULTED.name(), 0L);
+        long totalCompleted = completed + defaulted;
         if (totalCompleted > 0) {
-            double defaultRate = (double) loanRepository.findByStatus(LoanStatus.DEFAULTED).size() / totalCompleted
-                    * 100;
+            double defaultRate = (double) defaulted / totalCompleted * 100;
             analytics.put("defaultRate", Math.round(defaultRate * 100.0) / 100.0);
         } else {
             analytics.put("defaultRate", 0);
         }
 
+        putUnavailable(analytics, results);
         return analytics;
     }
 
     public Map<String, Object> getRiskAssessment() {
         Map<String, Object> riskData = new HashMap<>();
 
-        List<Payment> overduePayments = paymentRepository.findOverduePayments(java.time.LocalDate.now());
-        riskData.put("overduePaymentsCount", overduePayments.size());
-
-        BigDecimal overdueAmount = overduePayments.stream()
-                .map(Payment::getAmountDue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        riskData.put("totalOverdueAmount", overdueAmount);
-
-        List<Loan> activeLoans = loanRepository.findByStatus(LoanStatus.ACTIVE);
-        long loansAtRisk = 0;
-        for (Loan loan : activeLoans) {
-            if (paymentRepository.countMissedPaymentsByLoan(loan) > 0) {
-                loansAtRisk++;
-            }
-        }
-        riskData.put("loansAtRisk", loansAtRisk);
-
-        if (!activeLoans.isEmpty()) {
-            double riskScore = (double) loansAtRisk / activeLoans.size() * 100;
+        ParallelQueryRunner.Results results = queryRunner.batch()
+                .submit("overduePaymentsCount",
+                        () -> paymentRepository.countOverduePayments(java.time.LocalDate.now()))
+                .submit("totalOverdueAmount", this::sumOverdueAmounts)
+                .submit("loansAtRisk", () -> {
+                    List<Loan> activeLoans = loanRepository.findByStatus(LoanStatus.ACTIVE);
+                    long loansAtRisk = 0;
+                    for (Loan loan : activeLoans) {
+                        if (paymentRepository.countMissedPaymentsByLoan(loan) > 0) {
+                            loansAtRisk++;
+                        }
+                    }
+                    return new long[] { loansAtRisk, activeLoans.size() };
+                })
+                .await();
+
+        riskData.put("overduePaymentsCount", results.get("overduePaymentsCount", 0L).intValue());
+        riskData.put("totalOverdueAmount", results.get("totalOverdueAmount", BigDecimal.ZERO));
+
+        long[] atRisk = results.get("loansAtRisk", new long[] { 0, 0 });
+        riskData.put("loansAtRisk", atRisk[0]);
+
+        if (atRisk[1] > 0) {
+            double riskScore = (double) atRisk[0] / atRisk[1] * 100;
             riskData.put("portfolioRiskScore", Math.round(riskScore * 100.0) / 100.0);
         } else {
             riskData.put("portfolioRiskScore", 0);
         }
 
+        putUnavailable(riskData, results);
         return riskData;
     }
 
     public Map<String, Object> getPaymentAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
 
+        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+        LocalDateTime now = LocalDateTime.now();
+
+        ParallelQueryRunner.Batch batch = queryRunner.batch();
+        for (PaymentStatus status : PaymentStatus.values()) {
+            batch.submit(status.name(), () -> paymentRepository.countByStatus(status));
+        }
+        batch.submit("monthlyTransactionSummary",
+                () -> transactionRepository.sumAmountGroupedByTypeBetween(startOfMonth, now));
+        ParallelQueryRunner.Results results = batch.await();
+
         Map<String, Long> statusDistribution = new HashMap<>();
         for (PaymentStatus status : PaymentStatus.values()) {
-            statusDistribution.put(status.name(), (long) paymentRepository.findByStatus(status).size());
+            if (results.isAvailable(status.name())) {
+                statusDistribution.put(status.name(), results.get(status.name(), 0L));
+            }
         }
         analytics.put("statusDistribution", statusDistribution);
 
-        long completedPayments = paymentRepository.findByStatus(PaymentStatus.COMPLETED).size();
-        long latePayments = paymentRepository.findByStatus(PaymentStatus.LATE).size();
+        long completedPayments = statusDistribution.getOrDefault(PaymentStatus.COMPLETED.name(), 0L);
+        long latePayments = statusDistribution.getOrDefault(PaymentStatus.LATE.name(), 0L);
         long totalProcessed = completedPayments + latePayments;
 
         if (totalProcessed > 0) {
@@ -194,18 +224,69 @@ public class ReportService {
         }
 
         Map<String, BigDecimal> transactionSummary = new HashMap<>();
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime now = LocalDateTime.now();
-
         for (TransactionType type : TransactionType.values()) {
-            BigDecimal sum = transactionRepository.sumAmountByTypeAndDateRange(type, startOfMonth, now);
-            transactionSummary.put(type.name(), sum != null ? sum : BigDecimal.ZERO);
+            transactionSummary.put(type.name(), BigDecimal.ZERO);
+        }
+        List<Object[]> rows = results.get("monthlyTransactionSummary", List.of());
+        for (Object[] row : rows) {
+            transactionSummary.put(((TransactionType) row[0]).name(), (BigDecimal) row[1]);
         }
         analytics.put("monthlyTransactionSummary", transactionSummary);
 
+        putUnavailable(analytics, results);
         return analytics;
     }
 
+    private Map<String, Object> summarizeLenderLoans(User lender) {
+        Map<String, Object> summary = new HashMap<>();
+        List<Loan> lenderLoans = loanRepository.findByLender(lender);
+
+        summary.put("totalLoansCreated", lenderLoans.size());
+        summary.put("activeLoans", lenderLoans.stream().filter(l -> l.getStatus() == LoanStatus.ACTIVE).count());
+        summary.put("completedLoans",
+                lenderLoans.stream().filter(l -> l.getStatus() == LoanStatus.COMPLETED).count());
+        summary.put("pendingOffers", lenderLoans.stream().filter(l -> l.getStatus() == LoanStatus.PENDING).count());
+
+        // Amount Invested (Total principal amount lent out)
+        BigDecimal totalLent = lenderLoans.stream()
+                .filter(l -> l.getStatus() == LoanStatus.ACTIVE || l.getStatus() == LoanStatus.COMPLETED)
+                .map(Loan::getPrincipalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        summary.put("totalLentAmount", totalLent);
+
+        // Total Amount Distributed (same as totalLent for 12%club)
+        summary.put("totalDistributed", totalLent);
+        return summary;
+    }
+
+    private Map<String, Object> summarizeBorrowerLoans(User borrower) {
+        Map<String, Object> summary = new HashMap<>();
+        List<Loan> borrowerLoans = loanRepository.findByBorrower(borrower);
+
+        summary.put("totalLoans", borrowerLoans.size());
+        summary.put("activeLoans", borrowerLoans.stream().filter(l -> l.getStatus() == LoanStatus.ACTIVE).count());
+        summary.put("completedLoans",
+                borrowerLoans.stream().filter(l -> l.getStatus() == LoanStatus.COMPLETED).count());
+
+        BigDecimal totalBorrowed = borrowerLoans.stream()
+                .map(Loan::getPrincipalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        summary.put("totalBorrowedAmount", totalBorrowed);
+
+        BigDecimal totalRemaining = borrowerLoans.stream()
+                .filter(l -> l.getStatus() == LoanStatus.ACTIVE)
+                .map(Loan::getRemainingBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        summary.put("totalRemainingBalance", totalRemaining);
+        return summary;
+    }
+
+    private void putUnavailable(Map<String, Object> target, ParallelQueryRunner.Results results) {
+        if (results.isPartial()) {
+            target.put("unavailableMetrics", results.getUnavailable());
+        }
+    }
+
     private BigDecimal sumLoanAmounts() {
         return loanRepository.findAll().stream()
                 .map(Loan::getPrincipalAmount)
@@ -220,8 +301,6 @@ public class ReportService {
     }
 
     private BigDecimal sumOverdueAmounts() {
-        return paymentRepository.findOverduePayments(java.time.LocalDate.now()).stream()
-                .map(Payment::getAmountDue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return paymentRepository.sumOverdueAmount(java.time.LocalDate.now());
     }
 }
@@ -0,0 +1,142 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts held in memory, so the badge is an O(1) read
+ * instead of a COUNT over notifications.
+ * <p>
+ * A user's count is loaded from the database on first read and then adjusted by
+ * NotificationService as notifications are created, read and deleted. Adjustments are
+ * applied after the surrounding transaction commits. Races between a first load and a
+ * concurrent change can leave a count off by one; the periodic reconcile corrects it
+ * and evicts users who have not asked for their count in a while.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+    private static final int RECONCILE_BATCH = 500;
+
+    private final Map<Long, Entry> counts = new ConcurrentHashMap<>();
+    private final NotificationRepository notificationRepository;
+    private final NotificationHub notificationHub;
+    private final long idleNanos;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+            NotificationHub notificationHub,
+            @Value("${app.notifications.unread-count.idle-eviction-minutes:60}") long idleEvictionMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.notificationHub = notificationHub;
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleEvictionMinutes);
+    }
+
+    /**
+     * Current unread count for the user
+     */
+    public long get(Long userId) {
+        Entry entry = counts.get(userId);
+        if (entry == null) {
+            long loaded = notificationRepository.countByUserIdAndIsReadFalse(userId);
+            entry = counts.computeIfAbsent(userId, id -> new Entry(loaded));
+        }
+        entry.lastReadAt = System.nanoTime();
+        return entry.count.get();
+    }
+
+    public void increment(Long userId) {
+        afterCommit(userId, () -> adjust(userId, 1));
+    }
+
+    public void decrement(Long userId) {
+        afterCommit(userId, () -> adjust(userId, -1));
+    }
+
+    /**
+     * All of the user's notifications were marked read
+     */
+    public void reset(Long userId) {
+        afterCommit(userId, () -> {
+            Entry entry = counts.get(userId);
+            if (entry != null) {
+                entry.count.set(0);
+            }
+        });
+    }
+
+    /**
+     * Every 10 minutes: Re-count cached users from the database and drop idle entries
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.unread-count.reconcile-ms:600000}")
+    public void reconcile() {
+        long now = System.nanoTime();
+        counts.entrySet().removeIf(e -> now - e.getValue().lastReadAt > idleNanos);
+
+        List<Long> userIds = new ArrayList<>(counts.keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH, userIds.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIds(batch)) {
+                actual.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long userId : batch) {
+                Entry entry = counts.get(userId);
+                long expected = actual.getOrDefault(userId, 0L);
+                if (entry != null && entry.count.getAndSet(expected) != expected) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            logger.info("Reconciled unread notification counts: {} of {} users corrected", corrected, userIds.size());
+        }
+    }
+
+    // Users with no cached entry are loaded fresh on their next read, so only cached ones are touched
+    private void adjust(Long userId, long delta) {
+        Entry entry = counts.get(userId);
+        if (entry != null) {
+            entry.count.updateAndGet(v -> Math.max(0, v + delta));
+        }
+    }
+
+    private void afterCommit(Long userId, Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+        // Registered after the change, so the pushed value is read once it has been applied
+        notificationHub.publishLatest(userId, "unread-count", () -> get(userId));
+    }
+
+    private static final class Entry {
+        private final AtomicLong count;
+        private volatile long lastReadAt = System.nanoTime();
+
+        Entry(long count) {
+            this.count = new AtomicLong(count);
+        }
+    }
+}
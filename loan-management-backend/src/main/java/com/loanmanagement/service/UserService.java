@@ -3,48 +3,86 @@ package com.loanmanagement.service;
 import com.loanmanagement.dto.request.LoginRequest;
 import com.loanmanagement.dto.request.RegisterRequest;
 import com.loanmanagement.dto.response.AuthResponse;
+import com.loanmanagement.dto.response.CursorPage;
 import com.loanmanagement.dto.response.UserResponse;
 import com.loanmanagement.entity.Role;
 import com.loanmanagement.entity.User;
 import com.loanmanagement.exception.BadRequestException;
 import com.loanmanagement.exception.ResourceNotFoundException;
+import com.loanmanagement.exception.TooManyRequestsException;
 import com.loanmanagement.repository.UserRepository;
 import com.loanmanagement.security.JwtTokenProvider;
+import com.loanmanagement.security.LoginAttemptLimiter;
+import com.loanmanagement.security.TokenVersionCache;
+import com.loanmanagement.security.UserDetailsCache;
+import com.loanmanagement.security.UserPrincipal;
+import com.loanmanagement.security.token.RefreshTokenStore;
+import com.loanmanagement.security.token.StoredRefreshToken;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @SuppressWarnings("null")
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionCache tokenVersionCache;
+    private final UserDetailsCache userDetailsCache;
+    private final TaskExecutor loginExecutor;
+    private final RefreshTokenStore refreshTokenStore;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final AuditService auditService;
+    private final CursorPaging cursorPaging;
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-            JwtTokenProvider jwtTokenProvider, @Lazy AuthenticationManager authenticationManager) {
+            JwtTokenProvider jwtTokenProvider, @Lazy AuthenticationManager authenticationManager,
+            TokenVersionCache tokenVersionCache, UserDetailsCache userDetailsCache,
+            @Qualifier("loginExecutor") TaskExecutor loginExecutor, RefreshTokenStore refreshTokenStore,
+            LoginAttemptLimiter loginAttemptLimiter, AuditService auditService, CursorPaging cursorPaging) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
+        this.tokenVersionCache = tokenVersionCache;
+        this.userDetailsCache = userDetailsCache;
+        this.loginExecutor = loginExecutor;
+        this.refreshTokenStore = refreshTokenStore;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.auditService = auditService;
+        this.cursorPaging = cursorPaging;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
+        return userDetailsCache.get(email, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
@@ -66,49 +104,111 @@ public class UserService implements UserDetailsService {
 
         user = userRepository.save(user);
 
-        String token = jwtTokenProvider.generateToken(user.getEmail());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+        String token = jwtTokenProvider.generateToken(user);
+        String refreshToken = issueRefreshToken(user);
 
         return buildAuthResponse(user, token, refreshToken);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+    /**
+     * Run the login on the bounded login executor, failing fast with 429 when it is saturated
+     */
+    public CompletableFuture<AuthResponse> loginAsync(LoginRequest request, String clientIp) {
+        // Locked-out emails/IPs are refused before any hashing work is queued
+        if (loginAttemptLimiter.isBlocked(request.getEmail(), clientIp)) {
+            throw new TooManyRequestsException("Too many failed login attempts, please try again later",
+                    loginAttemptLimiter.getWindowSeconds());
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> login(request, clientIp), loginExecutor);
+        } catch (TaskRejectedException e) {
+            throw new TooManyRequestsException("Too many login attempts in progress, please retry shortly");
+        }
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Stateless: the token is the session, so nothing is stored in the security context
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        } catch (BadCredentialsException e) {
+            recordFailedLogin(request.getEmail(), clientIp);
+            throw e;
+        }
 
         User user = (User) authentication.getPrincipal();
         String token = jwtTokenProvider.generateToken(authentication);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+        String refreshToken = issueRefreshToken(user);
 
         return buildAuthResponse(user, token, refreshToken);
     }
 
+    /**
+     * Rotate a refresh token: each one can be exchanged exactly once. Presenting a token
+     * that was already exchanged is treated as theft and revokes all of the user's tokens.
+     */
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        Claims claims = jwtTokenProvider.parseClaims(refreshToken);
+        if (claims == null || !jwtTokenProvider.isRefreshToken(claims)) {
             throw new BadRequestException("Invalid refresh token");
         }
 
-        String email = jwtTokenProvider.getUsernameFromToken(refreshToken);
+        if (!refreshTokenStore.consume(claims.getId(), Instant.now())) {
+            StoredRefreshToken stored = refreshTokenStore.find(claims.getId());
+            if (stored != null && stored.isUsed()) {
+                logger.warn("Refresh token reuse detected for user {}; revoking all refresh tokens",
+                        stored.getUserId());
+                refreshTokenStore.revokeAllForUser(stored.getUserId());
+            }
+            throw new BadRequestException("Invalid refresh token");
+        }
+
+        String email = claims.getSubject();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
 
-        String newToken = jwtTokenProvider.generateToken(email);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(email);
+        // Refresh tokens are revoked together with access tokens
+        Integer version = claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Integer.class);
+        if (!user.isEnabled() || (version != null && version != user.getTokenVersion())) {
+            throw new BadRequestException("Invalid refresh token");
+        }
+
+        String newToken = jwtTokenProvider.generateToken(user);
+        String newRefreshToken = issueRefreshToken(user);
 
         return buildAuthResponse(user, newToken, newRefreshToken);
     }
 
+    /**
+     * Store a rehashed password after a successful login with an outdated BCrypt cost
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: "
+                        + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        user = userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        return user;
+    }
+
+    /**
+     * Current user. With a token principal this is a lazy reference: callers that only
+     * need the id (most queries) never hit the users table.
+     */
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return findByEmail(authentication.getName());
     }
 
     public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return userDetailsCache.get(email, userRepository::findByEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
@@ -118,13 +218,17 @@ public class UserService implements UserDetailsService {
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsCache.invalidate(saved.getEmail());
+        return saved;
     }
 
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(UserResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getAllUsers(String cursor, Integer size) {
+        CursorPaging.Cursor after = cursorPaging.decode(cursor);
+        int pageSize = cursorPaging.pageSize(size);
+        List<User> rows = userRepository.findPageAfter(after.getCreatedAt(), after.getId(),
+                cursorPaging.fetchLimit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, User::getCreatedAt, User::getId, UserResponse::fromEntity);
     }
 
     public List<UserResponse> getUsersByRole(Role role) {
@@ -148,11 +252,15 @@ public class UserService implements UserDetailsService {
         user.setLastName(request.getLastName());
         user.setPhoneNumber(request.getPhoneNumber());
 
-        if (request.getRole() != null) {
+        if (request.getRole() != null && request.getRole() != user.getRole()) {
+            // The role is carried in issued tokens, so they have to be reissued
             user.setRole(request.getRole());
+            user.revokeTokens();
         }
 
         user = userRepository.save(user);
+        tokenVersionCache.invalidate(id);
+        userDetailsCache.invalidate(user.getEmail());
         return UserResponse.fromEntity(user);
     }
 
@@ -161,6 +269,9 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         userRepository.delete(user);
+        refreshTokenStore.revokeAllForUser(id);
+        tokenVersionCache.invalidate(id);
+        userDetailsCache.invalidate(user.getEmail());
     }
 
     @Transactional
@@ -168,7 +279,13 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setEnabled(!user.isEnabled());
+        user.revokeTokens();
         user = userRepository.save(user);
+        if (!user.isEnabled()) {
+            refreshTokenStore.revokeAllForUser(id);
+        }
+        tokenVersionCache.invalidate(id);
+        userDetailsCache.invalidate(user.getEmail());
         return UserResponse.fromEntity(user);
     }
 
@@ -176,6 +293,22 @@ public class UserService implements UserDetailsService {
         return userRepository.countByRole(role);
     }
 
+    private void recordFailedLogin(String email, String clientIp) {
+        LoginAttemptLimiter.Threshold crossed = loginAttemptLimiter.recordFailure(email, clientIp);
+        if (crossed != LoginAttemptLimiter.Threshold.NONE) {
+            logger.warn("Login lockout threshold reached for {} from {} ({})", email, clientIp, crossed);
+            auditService.logLoginLockout(email, clientIp, crossed.name(), loginAttemptLimiter.getLimit(crossed),
+                    loginAttemptLimiter.getWindowSeconds());
+        }
+    }
+
+    private String issueRefreshToken(User user) {
+        String jti = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusMillis(jwtTokenProvider.getRefreshExpiration());
+        refreshTokenStore.save(new StoredRefreshToken(jti, user.getId(), expiresAt, false));
+        return jwtTokenProvider.generateRefreshToken(user, jti, expiresAt);
+    }
+
     private AuthResponse buildAuthResponse(User user, String token, String refreshToken) {
         return AuthResponse.builder()
                 .accessToken(token)
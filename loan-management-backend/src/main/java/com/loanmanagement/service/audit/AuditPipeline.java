@@ -0,0 +1,197 @@
+package com.loanmanagement.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanmanagement.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind pipeline for audit events.
+ * <p>
+ * Callers build the complete AuditLog on their own thread and {@link #submit} it to a
+ * bounded lock-free ring buffer, which never touches the database. A single writer
+ * thread drains the ring and appends events to the {@link AuditStore} in batches (JDBC
+ * batch inserts by default). When the ring is full the configured {@link OverflowPolicy}
+ * applies. Batches the store rejects are spilled to local files and replayed later, so
+ * events are only lost under the DROP policy.
+ */
+@Component
+public class AuditPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPipeline.class);
+
+    /**
+     * What {@link #submit} does when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait up to block-timeout-ms for space, then drop */
+        BLOCK,
+        /** Drop the event and count it */
+        DROP,
+        /** Append the event to a local spill file, replayed once the writer catches up */
+        SPILL
+    }
+
+    private final AuditStore auditStore;
+    private final AuditRingBuffer<AuditLog> ring;
+    private final AuditSpillFile spillFile;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final long replayIntervalNanos;
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditPipeline(AuditStore auditStore, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.audit.pipeline.capacity:8192}") int capacity,
+            @Value("${app.audit.pipeline.batch-size:500}") int batchSize,
+            @Value("${app.audit.pipeline.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${app.audit.pipeline.overflow-policy:SPILL}") OverflowPolicy overflowPolicy,
+            @Value("${app.audit.pipeline.block-timeout-ms:50}") long blockTimeoutMillis,
+            @Value("${app.audit.pipeline.spill-dir:${java.io.tmpdir}/loan-audit-spill}") String spillDir,
+            @Value("${app.audit.pipeline.replay-interval-ms:5000}") long replayIntervalMillis) {
+        this.auditStore = auditStore;
+        this.ring = new AuditRingBuffer<>(capacity);
+        this.spillFile = new AuditSpillFile(Paths.get(spillDir), objectMapper);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.replayIntervalNanos = TimeUnit.MILLISECONDS.toNanos(replayIntervalMillis);
+
+        Gauge.builder("audit.queue.depth", ring, AuditRingBuffer::size).register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush.latency")
+                .description("Time to write one batch of audit events to the store")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.written = Counter.builder("audit.events").tag("outcome", "written").register(meterRegistry);
+        this.dropped = Counter.builder("audit.events").tag("outcome", "dropped").register(meterRegistry);
+        this.spilled = Counter.builder("audit.events").tag("outcome", "spilled").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::runWriter);
+    }
+
+    /**
+     * Flush whatever is queued before the datasource goes away
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue an event for writing. Never touches the database; under the BLOCK policy it
+     * may wait briefly for space.
+     */
+    public void submit(AuditLog event) {
+        if (ring.offer(event)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                    if (ring.offer(event)) {
+                        return;
+                    }
+                }
+                dropped.increment();
+            }
+            case DROP -> dropped.increment();
+            case SPILL -> spill(List.of(event));
+        }
+    }
+
+    public int getQueueDepth() {
+        return ring.size();
+    }
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long lastReplayCheck = System.nanoTime();
+        while (running || ring.size() > 0) {
+            AuditLog event;
+            while (batch.size() < batchSize && (event = ring.poll()) != null) {
+                batch.add(event);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            // Idle: catch up on spilled events, at most once per replay interval
+            if (System.nanoTime() - lastReplayCheck > replayIntervalNanos) {
+                lastReplayCheck = System.nanoTime();
+                replaySpilled();
+            }
+            LockSupport.parkNanos(flushIntervalNanos);
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            auditStore.append(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} audit events, spilling them: {}", batch.size(), e.getMessage());
+            spill(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void replaySpilled() {
+        if (!spillFile.hasPending()) {
+            return;
+        }
+        try {
+            spillFile.replay(batchSize, batch -> {
+                auditStore.append(batch);
+                written.increment(batch.size());
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Replay of spilled audit events failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void spill(List<AuditLog> events) {
+        try {
+            for (AuditLog event : events) {
+                spillFile.append(event);
+            }
+            spilled.increment(events.size());
+        } catch (IOException e) {
+            logger.error("Could not spill {} audit events, dropping them: {}", events.size(), e.getMessage());
+            dropped.increment(events.size());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of one audit record in a segment file:
+ * <pre>
+ * int   body length
+ * int   CRC32 of the body
+ * body: long id, long timestamp (epoch millis of the wall-clock time), byte null flags,
+ *       [long userId], [long entityId], then nine length-prefixed UTF-8 strings
+ *       (length -1 for null): email, role, action, entity type, old value, new value,
+ *       description, IP, user agent
+ * </pre>
+ * The CRC lets recovery find a torn write at the tail of the active segment.
+ */
+final class AuditRecordCodec {
+
+    static final int HEADER_BYTES = 8;
+
+    private static final int HAS_USER_ID = 1;
+    private static final int HAS_ENTITY_ID = 2;
+
+    private AuditRecordCodec() {
+    }
+
+    /**
+     * Encode the record (header and body) into the buffer, growing it if needed.
+     * Returns the buffer written to, flipped for reading.
+     */
+    static ByteBuffer encode(AuditLog log, ByteBuffer buffer) {
+        byte[][] strings = {
+                utf8(log.getUserEmail()), utf8(log.getUserRole()), utf8(log.getAction().name()),
+                utf8(log.getEntityType()), utf8(log.getOldValue()), utf8(log.getNewValue()),
+                utf8(log.getDescription()), utf8(log.getIpAddress()), utf8(log.getUserAgent())
+        };
+        int bodyLength = 8 + 8 + 1 + 8 + 8;
+        for (byte[] s : strings) {
+            bodyLength += 4 + (s != null ? s.length : 0);
+        }
+
+        if (buffer.capacity() < HEADER_BYTES + bodyLength) {
+            buffer = ByteBuffer.allocate(Math.max(HEADER_BYTES + bodyLength, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.putInt(bodyLength);
+        buffer.putInt(0); // CRC, filled in below
+        buffer.putLong(log.getId());
+        buffer.putLong(toMillis(log.getTimestamp()));
+        int flags = (log.getUserId() != null ? HAS_USER_ID : 0) | (log.getEntityId() != null ? HAS_ENTITY_ID : 0);
+        buffer.put((byte) flags);
+        buffer.putLong(log.getUserId() != null ? log.getUserId() : 0L);
+        buffer.putLong(log.getEntityId() != null ? log.getEntityId() : 0L);
+        for (byte[] s : strings) {
+            if (s == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(s.length);
+                buffer.put(s);
+            }
+        }
+        buffer.putInt(4, crc(buffer, HEADER_BYTES, bodyLength));
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Total size of the record at the position (header included), or -1 if the bytes
+     * there are not a complete, intact record
+     */
+    static int recordLength(ByteBuffer segment, int position, int limit) {
+        if (position + HEADER_BYTES > limit) {
+            return -1;
+        }
+        int bodyLength = segment.getInt(position);
+        if (bodyLength <= 0 || position + HEADER_BYTES + bodyLength > limit) {
+            return -1;
+        }
+        if (segment.getInt(position + 4) != crc(segment, position + HEADER_BYTES, bodyLength)) {
+            return -1;
+        }
+        return HEADER_BYTES + bodyLength;
+    }
+
+    static long id(ByteBuffer segment, int position) {
+        return segment.getLong(position + HEADER_BYTES);
+    }
+
+    static long timestampMillis(ByteBuffer segment, int position) {
+        return segment.getLong(position + HEADER_BYTES + 8);
+    }
+
+    static AuditLog decode(ByteBuffer segment, int position) {
+        ByteBuffer in = segment.duplicate();
+        in.position(position + HEADER_BYTES);
+        AuditLog log = new AuditLog();
+        log.setId(in.getLong());
+        log.setTimestamp(fromMillis(in.getLong()));
+        int flags = in.get();
+        long userId = in.getLong();
+        long entityId = in.getLong();
+        log.setUserId((flags & HAS_USER_ID) != 0 ? userId : null);
+        log.setEntityId((flags & HAS_ENTITY_ID) != 0 ? entityId : null);
+        log.setUserEmail(readString(in));
+        log.setUserRole(readString(in));
+        log.setAction(AuditAction.valueOf(readString(in)));
+        log.setEntityType(readString(in));
+        log.setOldValue(readString(in));
+        log.setNewValue(readString(in));
+        log.setDescription(readString(in));
+        log.setIpAddress(readString(in));
+        log.setUserAgent(readString(in));
+        return log;
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(offset + length).position(offset));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,518 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One append-only segment file of audit records, plus its indexes:
+ * <ul>
+ * <li>a sparse block index: every 64 records, the block's start position and its
+ * min/max timestamp, so time-range reads only decode overlapping blocks (timestamps
+ * are capture times and can be slightly out of append order);</li>
+ * <li>a key index from entity, user and login email to record positions.</li>
+ * </ul>
+ * Reads go through a read-only memory mapping of the segment. The active segment maps
+ * ahead in 8 MB steps, which extends the file with zeros, so appends rarely remap;
+ * sealing and closing trim the file back to its committed size.
+ * <p>
+ * When a segment is sealed its indexes are written to a sidecar .idx file, so reopening
+ * it needs no scan. The key index stays in a heap map only while the segment is active:
+ * sealed segments binary-search the memory-mapped .idx, whose key directory is sorted by
+ * key hash, so old segments cost no heap per key.
+ */
+final class AuditSegment implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSegment.class);
+
+    static final String SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int LEGACY_INDEX_MAGIC = 0x41494458; // "AIDX", key index as a plain list
+    private static final int INDEX_MAGIC = 0x41494432; // "AID2", key directory sorted by hash
+    private static final int BLOCK_RECORDS = 64;
+    private static final int BLOCK_BYTES = 24;
+    private static final int DIRECTORY_ENTRY_BYTES = 12;
+    private static final int MAP_STEP = 8 * 1024 * 1024;
+
+    private final Path file;
+    private final long firstId;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    // Guarded by this
+    private final List<Block> blocks = new ArrayList<>();
+    private final Map<String, IntList> keys = new HashMap<>();
+    // Mapped .idx of a sealed segment, replacing keys
+    private ByteBuffer keyIndex;
+    private int keyDirectory;
+    private int keyCount;
+    private int size;
+    // Records written past size but not yet committed
+    private final List<AuditLog> staged = new ArrayList<>();
+    private final IntList stagedPositions = new IntList();
+    private int pending;
+    private int recordCount;
+    private long lastId;
+    private boolean sealed;
+
+    private AuditSegment(Path file, long firstId) {
+        this.file = file;
+        this.firstId = firstId;
+        this.lastId = firstId - 1;
+    }
+
+    static AuditSegment create(Path dir, long firstId) throws IOException {
+        AuditSegment segment = new AuditSegment(dir.resolve(String.format("audit-%020d%s", firstId, SUFFIX)), firstId);
+        segment.channel = FileChannel.open(segment.file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return segment;
+    }
+
+    /**
+     * Open an existing segment: from its .idx file if it was sealed, otherwise by
+     * scanning it and cutting off a torn record at the tail
+     */
+    static AuditSegment open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long firstId = Long.parseLong(name.substring("audit-".length(), name.length() - SUFFIX.length()));
+        AuditSegment segment = new AuditSegment(file, firstId);
+        Path index = segment.indexFile();
+        if (Files.exists(index) && segment.loadIndex(index)) {
+            return segment;
+        }
+        segment.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment.recover();
+        if (Files.exists(index)) {
+            // Sealed under the old index format; rewrite it in the current one
+            segment.seal();
+        }
+        return segment;
+    }
+
+    /**
+     * Write one encoded record after the committed tail; it stays invisible to reads until
+     * {@link #commit}. The caller serializes appends.
+     */
+    synchronized void append(ByteBuffer record, AuditLog log) throws IOException {
+        int position = pending;
+        int length = record.remaining();
+        while (record.hasRemaining()) {
+            channel.write(record, position + (length - record.remaining()));
+        }
+        staged.add(log);
+        stagedPositions.add(position);
+        pending = position + length;
+    }
+
+    /**
+     * Publish the records appended since the last commit or rollback
+     */
+    synchronized void commit() {
+        int[] positions = stagedPositions.toArray();
+        for (int i = 0; i < positions.length; i++) {
+            AuditLog log = staged.get(i);
+            index(positions[i], log.getId(), AuditRecordCodec.toMillis(log.getTimestamp()), log);
+        }
+        size = pending;
+        staged.clear();
+        stagedPositions.clear();
+    }
+
+    /**
+     * Discard the records appended since the last commit and cut them off the file, so
+     * a restart cannot recover them either
+     */
+    synchronized void rollback() throws IOException {
+        pending = size;
+        staged.clear();
+        stagedPositions.clear();
+        mapped = null;
+        channel.truncate(size);
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Stop accepting appends and persist the indexes next to the segment
+     */
+    synchronized void seal() throws IOException {
+        mapped = null;
+        channel.truncate(size);
+        force();
+        writeIndex();
+        channel.close();
+        channel = null;
+        blocks.clear();
+        keys.clear();
+        loadIndex(indexFile());
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int recordCount() {
+        return recordCount;
+    }
+
+    synchronized long lastId() {
+        return lastId;
+    }
+
+    synchronized boolean isSealed() {
+        return sealed;
+    }
+
+    long firstId() {
+        return firstId;
+    }
+
+    synchronized int[] positions(String key) {
+        if (keyIndex != null) {
+            return lookup(key);
+        }
+        IntList list = keys.get(key);
+        return list != null ? list.toArray() : new int[0];
+    }
+
+    /**
+     * Copies of the blocks, so counts cannot move under a reader
+     */
+    synchronized List<Block> blocks() {
+        List<Block> copy = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            copy.add(new Block(block.position, block.count, block.minTimestamp, block.maxTimestamp));
+        }
+        return copy;
+    }
+
+    AuditLog read(int position) {
+        return AuditRecordCodec.decode(view(), position);
+    }
+
+    long firstIdOf(Block block) {
+        return AuditRecordCodec.id(view(), block.position);
+    }
+
+    List<AuditLog> readBlock(Block block) {
+        ByteBuffer buffer = view();
+        List<AuditLog> records = new ArrayList<>(block.count);
+        int position = block.position;
+        for (int i = 0; i < block.count; i++) {
+            records.add(AuditRecordCodec.decode(buffer, position));
+            position += AuditRecordCodec.HEADER_BYTES + buffer.getInt(position);
+        }
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            mapped = null;
+            channel.truncate(size);
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    static String entityKey(String entityType, Long entityId) {
+        return "e:" + entityType + ":" + entityId;
+    }
+
+    static String userKey(Long userId) {
+        return "u:" + userId;
+    }
+
+    static String loginKey(String email) {
+        return "l:" + email;
+    }
+
+    // Mapping covering every committed byte; the active segment remaps once per MAP_STEP of growth
+    private synchronized ByteBuffer view() {
+        if (mapped == null || mapped.capacity() < size) {
+            long capacity = sealed ? size : ((long) size / MAP_STEP + 1) * MAP_STEP;
+            try {
+                // Appends write through the channel into the same page cache the mapping reads
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(capacity, Integer.MAX_VALUE));
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot map audit segment " + file, e);
+            }
+        }
+        return mapped;
+    }
+
+    private void index(int position, long id, long timestampMillis, AuditLog log) {
+        Block block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (block == null || block.count == BLOCK_RECORDS) {
+            block = new Block(position);
+            blocks.add(block);
+        }
+        block.add(timestampMillis);
+
+        if (log.getEntityId() != null) {
+            addKey(entityKey(log.getEntityType(), log.getEntityId()), position);
+        }
+        if (log.getUserId() != null) {
+            addKey(userKey(log.getUserId()), position);
+        }
+        if (log.getUserEmail() != null && "AUTH".equals(log.getEntityType())) {
+            addKey(loginKey(log.getUserEmail()), position);
+        }
+        recordCount++;
+        lastId = id;
+    }
+
+    private void addKey(String key, int position) {
+        keys.computeIfAbsent(key, k -> new IntList()).add(position);
+    }
+
+    private synchronized void recover() throws IOException {
+        long length = channel.size();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        int position = 0;
+        int recordLength;
+        while ((recordLength = AuditRecordCodec.recordLength(buffer, position, (int) length)) > 0) {
+            AuditLog log = AuditRecordCodec.decode(buffer, position);
+            index(position, log.getId(), AuditRecordCodec.toMillis(log.getTimestamp()), log);
+            position += recordLength;
+        }
+        if (position < length) {
+            if (!zeroFilled(buffer, position, (int) length)) {
+                logger.warn("Truncating {} bytes of incomplete audit records from {}", length - position, file.getFileName());
+            }
+            channel.truncate(position);
+        }
+        size = position;
+        pending = position;
+    }
+
+    private Path indexFile() {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    // Zeros left by mapping ahead of the appends, as opposed to a torn record
+    private static boolean zeroFilled(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Index file layout:
+     *   int magic, int size, int recordCount, long lastId
+     *   int blockCount, then per block: int position, int count, long minTimestamp, long maxTimestamp
+     *   int keyCount, then a directory sorted by (hash, key): long hash, int entryOffset
+     *   entries: unsigned short key length, UTF-8 key, int positionCount, int positions...
+     */
+    private void writeIndex() throws IOException {
+        List<KeyEntry> entries = new ArrayList<>(keys.size());
+        for (Map.Entry<String, IntList> entry : keys.entrySet()) {
+            entries.add(new KeyEntry(entry.getKey(), entry.getValue().toArray()));
+        }
+        entries.sort(Comparator.comparingLong((KeyEntry e) -> e.hash).thenComparing(e -> e.key));
+
+        Path tmp = indexFile().resolveSibling(indexFile().getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(size);
+            out.writeInt(recordCount);
+            out.writeLong(lastId);
+            out.writeInt(blocks.size());
+            for (Block block : blocks) {
+                out.writeInt(block.position);
+                out.writeInt(block.count);
+                out.writeLong(block.minTimestamp);
+                out.writeLong(block.maxTimestamp);
+            }
+            out.writeInt(entries.size());
+            int offset = out.size() + entries.size() * DIRECTORY_ENTRY_BYTES;
+            for (KeyEntry entry : entries) {
+                out.writeLong(entry.hash);
+                out.writeInt(offset);
+                offset += entry.bytes();
+            }
+            for (KeyEntry entry : entries) {
+                out.writeShort(entry.utf8.length);
+                out.write(entry.utf8);
+                out.writeInt(entry.positions.length);
+                for (int position : entry.positions) {
+                    out.writeInt(position);
+                }
+            }
+        }
+        Files.move(tmp, indexFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Map a sealed segment and its index; false if the index is in the legacy format
+     */
+    private synchronized boolean loadIndex(Path index) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel readOnly = FileChannel.open(index, StandardOpenOption.READ)) {
+            buffer = readOnly.map(FileChannel.MapMode.READ_ONLY, 0, readOnly.size());
+        }
+        int magic = buffer.getInt(0);
+        if (magic == LEGACY_INDEX_MAGIC) {
+            return false;
+        }
+        if (magic != INDEX_MAGIC) {
+            throw new IOException("Not an audit segment index: " + index);
+        }
+        size = buffer.getInt(4);
+        recordCount = buffer.getInt(8);
+        lastId = buffer.getLong(12);
+        int blockCount = buffer.getInt(20);
+        int position = 24;
+        for (int i = 0; i < blockCount; i++, position += BLOCK_BYTES) {
+            blocks.add(new Block(buffer.getInt(position), buffer.getInt(position + 4),
+                    buffer.getLong(position + 8), buffer.getLong(position + 16)));
+        }
+        keyCount = buffer.getInt(position);
+        keyDirectory = position + 4;
+        keyIndex = buffer;
+        try (FileChannel readOnly = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = readOnly.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        sealed = true;
+        return true;
+    }
+
+    // Binary search for the first directory entry with the key's hash, then compare keys
+    private int[] lookup(String key) {
+        byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(utf8);
+        int low = 0;
+        int high = keyCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyIndex.getLong(keyDirectory + mid * DIRECTORY_ENTRY_BYTES) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        ByteBuffer wanted = ByteBuffer.wrap(utf8);
+        for (int i = low; i < keyCount && keyIndex.getLong(keyDirectory + i * DIRECTORY_ENTRY_BYTES) == hash; i++) {
+            int offset = keyIndex.getInt(keyDirectory + i * DIRECTORY_ENTRY_BYTES + 8);
+            int length = Short.toUnsignedInt(keyIndex.getShort(offset));
+            if (keyIndex.slice(offset + 2, length).equals(wanted)) {
+                int countAt = offset + 2 + length;
+                int[] positions = new int[keyIndex.getInt(countAt)];
+                for (int j = 0; j < positions.length; j++) {
+                    positions[j] = keyIndex.getInt(countAt + 4 + j * 4);
+                }
+                return positions;
+            }
+        }
+        return new int[0];
+    }
+
+    // 64-bit FNV-1a, stable across JVMs since it is persisted in the index
+    private static long hash(byte[] utf8) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : utf8) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Up to 64 consecutive records starting at a file position
+     */
+    static final class Block {
+        private final int position;
+        private int count;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+
+        Block(int position) {
+            this.position = position;
+        }
+
+        Block(int position, int count, long minTimestamp, long maxTimestamp) {
+            this.position = position;
+            this.count = count;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+        }
+
+        void add(long timestamp) {
+            count++;
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+
+        boolean overlaps(long from, long to) {
+            return minTimestamp <= to && maxTimestamp >= from;
+        }
+
+        int count() {
+            return count;
+        }
+    }
+
+    private static final class KeyEntry {
+        private final String key;
+        private final byte[] utf8;
+        private final long hash;
+        private final int[] positions;
+
+        KeyEntry(String key, int[] positions) {
+            this.key = key;
+            this.utf8 = key.getBytes(StandardCharsets.UTF_8);
+            this.hash = hash(utf8);
+            this.positions = positions;
+        }
+
+        int bytes() {
+            return 2 + utf8.length + 4 + positions.length * 4;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.loanmanagement.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanmanagement.entity.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Local overflow for audit events the pipeline could not queue or write: one JSON line
+ * per event in files under the spill directory. Files are closed off and replayed
+ * oldest-first once the database keeps up again, then deleted.
+ */
+final class AuditSpillFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSpillFile.class);
+    private static final String PREFIX = "audit-spill-";
+    private static final String SUFFIX = ".jsonl";
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+
+    AuditSpillFile(Path dir, ObjectMapper objectMapper) {
+        this.dir = dir;
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void append(AuditLog event) throws IOException {
+        if (writer == null) {
+            Files.createDirectories(dir);
+            Path file = dir.resolve(PREFIX + System.currentTimeMillis() + "-" + System.nanoTime() + SUFFIX);
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        writer.write(objectMapper.writeValueAsString(event));
+        writer.newLine();
+        writer.flush();
+    }
+
+    boolean hasPending() {
+        try (Stream<Path> files = listFiles()) {
+            return files.findAny().isPresent();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hand spilled events to the sink in batches, deleting each file once it has been
+     * fully accepted. Stops at the first file the sink fails on; batches of that file
+     * already accepted are replayed again next time (at-least-once).
+     */
+    void replay(int batchSize, Consumer<List<AuditLog>> sink) throws IOException {
+        List<Path> files;
+        synchronized (this) {
+            // New spills go to a fresh file, which is not part of this snapshot
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            try (Stream<Path> stream = listFiles()) {
+                files = stream.sorted().toList();
+            }
+        }
+        for (Path file : files) {
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(objectMapper.readValue(line, AuditLog.class));
+                    if (batch.size() == batchSize) {
+                        sink.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+            }
+            Files.delete(file);
+            logger.info("Replayed spilled audit events from {}", file.getFileName());
+        }
+    }
+
+    private Stream<Path> listFiles() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return Stream.empty();
+        }
+        return Files.list(dir).filter(p -> {
+            String name = p.getFileName().toString();
+            return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where audit events are written by the {@link AuditPipeline} and read back by
+ * AuditService. Selected with app.audit.store: jdbc (the audit_logs table, default)
+ * or segments (local append-only files). Lists are newest first.
+ */
+public interface AuditStore {
+
+    /**
+     * Persist a batch of events, all or nothing: when it throws, none of the batch was
+     * kept, so the pipeline can spill and later replay the whole batch without
+     * duplicates. Called only from the pipeline's writer thread.
+     */
+    void append(List<AuditLog> batch);
+
+    Optional<AuditLog> findById(Long id);
+
+    List<AuditLog> findByEntity(String entityType, Long entityId);
+
+    List<AuditLog> findByUser(Long userId);
+
+    Page<AuditLog> findRecent(int page, int size);
+
+    /**
+     * Events with a timestamp between the two instants, both inclusive
+     */
+    List<AuditLog> findByTimeRange(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Login, logout and failed login events for an email
+     */
+    List<AuditLog> findLoginAttempts(String email);
+
+    List<AuditLog> findByAction(AuditAction action);
+}
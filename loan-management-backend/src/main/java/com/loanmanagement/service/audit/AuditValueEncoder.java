@@ -0,0 +1,237 @@
+package com.loanmanagement.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Encodes the old/new values of audit events.
+ * <p>
+ * In diff mode (app.audit.values=diff) an update, where both values are
+ * JSON objects, stores only the top-level fields that changed. The old column gets their
+ * previous values, the new column their new ones, and both are marked with a leading
+ * {@code ~}. Creates, deletes and plain values are stored in full, as in full mode.
+ * {@link #reconstruct} rebuilds full values by replaying an entity's trail. Full mode is
+ * the default: a trail whose create was never audited, or has been purged, cannot be
+ * rebuilt from diffs alone.
+ * <p>
+ * JSON is written through a per-thread reusable buffer, so encoding does not allocate a
+ * fresh writer and char array per event.
+ */
+@Component
+public class AuditValueEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditValueEncoder.class);
+
+    static final String DIFF_PREFIX = "~";
+    // Buffers that grew past this for one large value are not kept for the thread
+    private static final int MAX_RETAINED_CHARS = 64 * 1024;
+    private static final ThreadLocal<ReusableWriter> BUFFER = ThreadLocal.withInitial(ReusableWriter::new);
+
+    private final ObjectMapper objectMapper;
+    private final boolean diffMode;
+
+    public AuditValueEncoder(ObjectMapper objectMapper, @Value("${app.audit.values:full}") String mode) {
+        this.objectMapper = objectMapper;
+        this.diffMode = "diff".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Encode an event's old and new values for storage; either may be null
+     */
+    public Encoded encode(Object oldValue, Object newValue) {
+        if (diffMode && oldValue != null && newValue != null) {
+            try {
+                JsonNode oldNode = objectMapper.valueToTree(oldValue);
+                JsonNode newNode = objectMapper.valueToTree(newValue);
+                if (oldNode.isObject() && newNode.isObject()) {
+                    return diff((ObjectNode) oldNode, (ObjectNode) newNode);
+                }
+                return new Encoded(write(oldNode), write(newNode));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Failed to diff audit values, storing them in full: {}", e.getMessage());
+            }
+        }
+        return new Encoded(oldValue != null ? write(oldValue) : null, newValue != null ? write(newValue) : null);
+    }
+
+    /**
+     * Full values of one event given the entity's state before it (null if unknown),
+     * along with the state after it. Replaying an entity's trail oldest-first
+     * reconstructs every event; if the trail does not start with a full value, the
+     * rebuilt values contain only the fields seen so far.
+     */
+    public Reconstructed reconstruct(ObjectNode stateBefore, String storedOld, String storedNew) {
+        ObjectNode oldChanged = isDiff(storedOld) ? parseObject(storedOld.substring(DIFF_PREFIX.length())) : null;
+        ObjectNode newChanged = isDiff(storedNew) ? parseObject(storedNew.substring(DIFF_PREFIX.length())) : null;
+        if (oldChanged != null && newChanged != null) {
+            ObjectNode oldFull = stateBefore != null ? stateBefore.deepCopy() : objectMapper.createObjectNode();
+            ObjectNode newFull = oldFull.deepCopy();
+            oldFull.setAll(oldChanged);
+            newFull.setAll(newChanged);
+            return new Reconstructed(write(oldFull), write(newFull), newFull);
+        }
+
+        ObjectNode stateAfter = stateBefore;
+        if (storedNew != null) {
+            ObjectNode parsed = parseObject(storedNew);
+            if (parsed != null) {
+                stateAfter = parsed;
+            }
+        } else if (storedOld != null) {
+            stateAfter = null; // Deleted
+        }
+        return new Reconstructed(storedOld, storedNew, stateAfter);
+    }
+
+    public static boolean isDiff(String stored) {
+        return stored != null && stored.startsWith(DIFF_PREFIX);
+    }
+
+    private Encoded diff(ObjectNode oldNode, ObjectNode newNode) {
+        ObjectNode oldChanged = objectMapper.createObjectNode();
+        ObjectNode newChanged = objectMapper.createObjectNode();
+        for (Iterator<String> it = oldNode.fieldNames(); it.hasNext();) {
+            String field = it.next();
+            JsonNode before = oldNode.get(field);
+            JsonNode after = newNode.get(field);
+            if (!Objects.equals(before, after)) {
+                oldChanged.set(field, before);
+                newChanged.set(field, after != null ? after : NullNode.getInstance());
+            }
+        }
+        for (Iterator<String> it = newNode.fieldNames(); it.hasNext();) {
+            String field = it.next();
+            if (!oldNode.has(field)) {
+                oldChanged.set(field, NullNode.getInstance());
+                newChanged.set(field, newNode.get(field));
+            }
+        }
+        return new Encoded(DIFF_PREFIX + write(oldChanged), DIFF_PREFIX + write(newChanged));
+    }
+
+    private ObjectNode parseObject(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return node instanceof ObjectNode object ? object : null;
+        } catch (JsonProcessingException e) {
+            return null; // Older rows may hold toString() output
+        }
+    }
+
+    private String write(Object value) {
+        ReusableWriter writer = BUFFER.get();
+        writer.reset();
+        try {
+            objectMapper.writeValue(writer, value);
+            return writer.toString();
+        } catch (IOException e) {
+            logger.warn("Failed to serialize audit value to JSON: {}", e.getMessage());
+            return String.valueOf(value);
+        } finally {
+            if (writer.capacity() > MAX_RETAINED_CHARS) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Stored old and new column values
+     */
+    public static final class Encoded {
+        private final String oldValue;
+        private final String newValue;
+
+        Encoded(String oldValue, String newValue) {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public String getOldValue() {
+            return oldValue;
+        }
+
+        public String getNewValue() {
+            return newValue;
+        }
+    }
+
+    /**
+     * Full old and new values of one event, and the entity state after it
+     */
+    public static final class Reconstructed {
+        private final String oldValue;
+        private final String newValue;
+        private final ObjectNode stateAfter;
+
+        Reconstructed(String oldValue, String newValue, ObjectNode stateAfter) {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            this.stateAfter = stateAfter;
+        }
+
+        public String getOldValue() {
+            return oldValue;
+        }
+
+        public String getNewValue() {
+            return newValue;
+        }
+
+        public ObjectNode getStateAfter() {
+            return stateAfter;
+        }
+    }
+
+    // Unsynchronized StringWriter over a StringBuilder that is cleared, not reallocated
+    private static final class ReusableWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder(1024);
+
+        void reset() {
+            buffer.setLength(0);
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            buffer.append(str, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import com.loanmanagement.repository.AuditLogRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Audit store on the audit_logs table: JDBC batch inserts for writes, the JPA
+ * repository for reads.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcAuditStore implements AuditStore {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (user_id, user_email, user_role, action, "
+            + "entity_type, entity_id, old_value, new_value, description, ip_address, user_agent, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepository auditLogRepository;
+
+    public JdbcAuditStore(JdbcTemplate jdbcTemplate, AuditLogRepository auditLogRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    @Override
+    @Transactional
+    public void append(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+    }
+
+    @Override
+    public Optional<AuditLog> findById(Long id) {
+        return auditLogRepository.findById(id);
+    }
+
+    @Override
+    public List<AuditLog> findByEntity(String entityType, Long entityId) {
+        return auditLogRepository.findByEntityTypeAndEntityIdOrderByTimestampDescIdDesc(entityType, entityId);
+    }
+
+    @Override
+    public List<AuditLog> findByUser(Long userId) {
+        return auditLogRepository.findByUserIdOrderByTimestampDesc(userId);
+    }
+
+    @Override
+    public Page<AuditLog> findRecent(int page, int size) {
+        return auditLogRepository.findAllByOrderByTimestampDesc(PageRequest.of(page, size));
+    }
+
+    @Override
+    public List<AuditLog> findByTimeRange(LocalDateTime start, LocalDateTime end) {
+        return auditLogRepository.findByDateRange(start, end);
+    }
+
+    @Override
+    public List<AuditLog> findLoginAttempts(String email) {
+        return auditLogRepository.findLoginAttemptsByEmail(email);
+    }
+
+    @Override
+    public List<AuditLog> findByAction(AuditAction action) {
+        return auditLogRepository.findByActionOrderByTimestampDesc(action);
+    }
+
+    private void bind(PreparedStatement ps, AuditLog log) throws SQLException {
+        setLong(ps, 1, log.getUserId());
+        ps.setString(2, log.getUserEmail());
+        ps.setString(3, log.getUserRole());
+        ps.setString(4, log.getAction().name());
+        ps.setString(5, log.getEntityType());
+        setLong(ps, 6, log.getEntityId());
+        ps.setString(7, log.getOldValue());
+        ps.setString(8, log.getNewValue());
+        ps.setString(9, log.getDescription());
+        ps.setString(10, log.getIpAddress());
+        ps.setString(11, log.getUserAgent());
+        ps.setTimestamp(12, Timestamp.valueOf(log.getTimestamp()));
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
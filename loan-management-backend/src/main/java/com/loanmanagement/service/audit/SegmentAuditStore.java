@@ -0,0 +1,277 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Audit store on rolling local segment files, taking audit writes off the database.
+ * <p>
+ * Events are appended in a compact binary form (see {@link AuditRecordCodec}) to the
+ * active segment, which rolls once it passes app.audit.segments.max-segment-mb. Entity,
+ * user and login queries use the per-segment key indexes; time-range queries decode
+ * only blocks whose timestamp span overlaps the range; action queries and recent pages
+ * walk the blocks. All reads go through memory-mapped segments.
+ * <p>
+ * Ids are assigned here in append order. Rows already in audit_logs are not imported.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.store", havingValue = "segments")
+public class SegmentAuditStore implements AuditStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentAuditStore.class);
+    private static final Set<AuditAction> LOGIN_ACTIONS =
+            EnumSet.of(AuditAction.LOGIN, AuditAction.LOGOUT, AuditAction.LOGIN_FAILED);
+    private static final Comparator<AuditLog> NEWEST_FIRST =
+            Comparator.comparing(AuditLog::getTimestamp).thenComparing(AuditLog::getId).reversed();
+
+    private final Path dir;
+    private final long maxSegmentBytes;
+    private final boolean fsync;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+
+    // Writer state, guarded by this
+    private AuditSegment active;
+    private long nextId;
+    private ByteBuffer encodeBuffer = ByteBuffer.allocate(4096);
+
+    public SegmentAuditStore(@Value("${app.audit.segments.dir:${java.io.tmpdir}/loan-audit-segments}") String dir,
+            @Value("${app.audit.segments.max-segment-mb:64}") int maxSegmentMb,
+            @Value("${app.audit.segments.fsync:true}") boolean fsync) {
+        this.dir = Paths.get(dir);
+        // Positions are ints, so a segment must stay well below 2 GB
+        this.maxSegmentBytes = Math.min(maxSegmentMb, 1024) * 1024L * 1024L;
+        this.fsync = fsync;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(AuditSegment.SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            segments.add(AuditSegment.open(file));
+        }
+
+        AuditSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        nextId = last != null ? last.lastId() + 1 : 1;
+        if (last != null && !last.isSealed()) {
+            active = last;
+        } else {
+            active = AuditSegment.create(dir, nextId);
+            segments.add(active);
+        }
+        logger.info("Audit segment store opened with {} segments in {}, next id {}", segments.size(), dir, nextId);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (AuditSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    /**
+     * All or nothing: if any write or the force fails, the batch is cut off the segment
+     * and its ids are reused, so the caller can retry or spill the whole batch without
+     * duplicating records.
+     */
+    @Override
+    public synchronized void append(List<AuditLog> batch) {
+        long firstId = nextId;
+        try {
+            for (AuditLog log : batch) {
+                log.setId(nextId++);
+                encodeBuffer = AuditRecordCodec.encode(log, encodeBuffer);
+                active.append(encodeBuffer, log);
+            }
+            if (fsync) {
+                active.force();
+            }
+            active.commit();
+        } catch (IOException | RuntimeException e) {
+            nextId = firstId;
+            for (AuditLog log : batch) {
+                log.setId(null);
+            }
+            try {
+                active.rollback();
+            } catch (IOException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            if (e instanceof IOException io) {
+                throw new UncheckedIOException("Failed to append audit events", io);
+            }
+            throw (RuntimeException) e;
+        }
+        if (active.size() >= maxSegmentBytes) {
+            roll();
+        }
+    }
+
+    /**
+     * Ids are ascending across segments and blocks, so only one block is decoded
+     */
+    @Override
+    public Optional<AuditLog> findById(Long id) {
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            AuditSegment segment = segments.get(s);
+            if (segment.firstId() > id) {
+                continue;
+            }
+            List<AuditSegment.Block> blocks = segment.blocks();
+            for (int b = blocks.size() - 1; b >= 0; b--) {
+                if (segment.firstIdOf(blocks.get(b)) <= id) {
+                    return segment.readBlock(blocks.get(b)).stream()
+                            .filter(log -> log.getId().equals(id))
+                            .findFirst();
+                }
+            }
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<AuditLog> findByEntity(String entityType, Long entityId) {
+        return findByKey(AuditSegment.entityKey(entityType, entityId), log -> true);
+    }
+
+    @Override
+    public List<AuditLog> findByUser(Long userId) {
+        return findByKey(AuditSegment.userKey(userId), log -> true);
+    }
+
+    @Override
+    public List<AuditLog> findLoginAttempts(String email) {
+        return findByKey(AuditSegment.loginKey(email), log -> LOGIN_ACTIONS.contains(log.getAction()));
+    }
+
+    @Override
+    public List<AuditLog> findByTimeRange(LocalDateTime start, LocalDateTime end) {
+        long from = AuditRecordCodec.toMillis(start);
+        long to = AuditRecordCodec.toMillis(end);
+        List<AuditLog> results = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            for (AuditSegment.Block block : segment.blocks()) {
+                if (!block.overlaps(from, to)) {
+                    continue;
+                }
+                for (AuditLog log : segment.readBlock(block)) {
+                    long ts = AuditRecordCodec.toMillis(log.getTimestamp());
+                    if (ts >= from && ts <= to) {
+                        results.add(log);
+                    }
+                }
+            }
+        }
+        results.sort(NEWEST_FIRST);
+        return results;
+    }
+
+    /**
+     * Full scan; action queries are rare admin lookups
+     */
+    @Override
+    public List<AuditLog> findByAction(AuditAction action) {
+        List<AuditLog> results = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            for (AuditSegment.Block block : segment.blocks()) {
+                for (AuditLog log : segment.readBlock(block)) {
+                    if (log.getAction() == action) {
+                        results.add(log);
+                    }
+                }
+            }
+        }
+        results.sort(NEWEST_FIRST);
+        return results;
+    }
+
+    /**
+     * Newest appended first; whole segments and blocks before the page are skipped by
+     * their record counts without decoding
+     */
+    @Override
+    public Page<AuditLog> findRecent(int page, int size) {
+        List<AuditSegment> snapshot = new ArrayList<>(segments);
+        long total = 0;
+        for (AuditSegment segment : snapshot) {
+            total += segment.recordCount();
+        }
+
+        long skip = (long) page * size;
+        List<AuditLog> content = new ArrayList<>(size);
+        for (int s = snapshot.size() - 1; s >= 0 && content.size() < size; s--) {
+            List<AuditSegment.Block> blocks = snapshot.get(s).blocks();
+            for (int b = blocks.size() - 1; b >= 0 && content.size() < size; b--) {
+                AuditSegment.Block block = blocks.get(b);
+                if (skip >= block.count()) {
+                    skip -= block.count();
+                    continue;
+                }
+                List<AuditLog> records = snapshot.get(s).readBlock(block);
+                Collections.reverse(records);
+                for (int i = (int) skip; i < records.size() && content.size() < size; i++) {
+                    content.add(records.get(i));
+                }
+                skip = 0;
+            }
+        }
+        return new PageImpl<>(content, PageRequest.of(page, size), total);
+    }
+
+    // The batch before this is already committed, so a failed roll is only logged and retried on the next append
+    private void roll() {
+        try {
+            active.seal();
+            active = AuditSegment.create(dir, nextId);
+            segments.add(active);
+        } catch (IOException e) {
+            logger.warn("Failed to roll audit segment {}, will retry: {}", active.firstId(), e.getMessage());
+        }
+    }
+
+    private List<AuditLog> findByKey(String key, Predicate<AuditLog> filter) {
+        List<AuditLog> results = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            for (int position : segment.positions(key)) {
+                AuditLog log = segment.read(position);
+                if (filter.test(log)) {
+                    results.add(log);
+                }
+            }
+        }
+        results.sort(NEWEST_FIRST);
+        return results;
+    }
+}
@@ -5,14 +5,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
- * Service for generating CSV reports
+ * Service for generating CSV reports.
+ * The write* methods stream rows to an OutputStream as they are consumed from the
+ * given Iterable; the generate* methods buffer the same output into a byte array.
  */
 @Service
 public class CsvReportGenerator {
@@ -24,10 +30,19 @@ public class CsvReportGenerator {
      * Generate Loan Summary CSV
      */
     public byte[] generateLoanSummaryReport(List<Loan> loans) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeLoanSummaryReport(loans, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Stream Loan Summary CSV
+     */
+    public void writeLoanSummaryReport(Iterable<Loan> loans, OutputStream out) {
         logger.info("Generating Loan Summary CSV Report");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                PrintWriter writer = new PrintWriter(baos)) {
+        try {
+            PrintWriter writer = newWriter(out);
 
             // Header
             writer.println(
@@ -53,8 +68,7 @@ public class CsvReportGenerator {
                         loan.getEndDate() != null ? loan.getEndDate().format(DATE_FORMAT) : ""));
             }
 
-            writer.flush();
-            return baos.toByteArray();
+            finish(writer);
         } catch (Exception e) {
             logger.error("Error generating loan summary CSV: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate CSV report", e);
@@ -106,10 +120,19 @@ public class CsvReportGenerator {
      * Generate Payment History CSV
      */
     public byte[] generatePaymentHistoryReport(List<Payment> payments) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePaymentHistoryReport(payments, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Stream Payment History CSV
+     */
+    public void writePaymentHistoryReport(Iterable<Payment> payments, OutputStream out) {
         logger.info("Generating Payment History CSV Report");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                PrintWriter writer = new PrintWriter(baos)) {
+        try {
+            PrintWriter writer = newWriter(out);
 
             // Header
             writer.println(
@@ -130,8 +153,7 @@ public class CsvReportGenerator {
                         payment.getStatus().name()));
             }
 
-            writer.flush();
-            return baos.toByteArray();
+            finish(writer);
         } catch (Exception e) {
             logger.error("Error generating payment history CSV: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate CSV report", e);
@@ -142,10 +164,19 @@ public class CsvReportGenerator {
      * Generate Transaction Ledger CSV
      */
     public byte[] generateTransactionLedger(List<Transaction> transactions) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeTransactionLedger(transactions, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Stream Transaction Ledger CSV
+     */
+    public void writeTransactionLedger(Iterable<Transaction> transactions, OutputStream out) {
         logger.info("Generating Transaction Ledger CSV");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                PrintWriter writer = new PrintWriter(baos)) {
+        try {
+            PrintWriter writer = newWriter(out);
 
             // Header
             writer.println("Transaction ID,Loan ID,Type,Amount,Description,Created At");
@@ -162,14 +193,25 @@ public class CsvReportGenerator {
                                 : ""));
             }
 
-            writer.flush();
-            return baos.toByteArray();
+            finish(writer);
         } catch (Exception e) {
             logger.error("Error generating transaction ledger CSV: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate CSV report", e);
         }
     }
 
+    // Buffered writer over the caller's stream; the caller owns (and closes) the stream
+    private PrintWriter newWriter(OutputStream out) {
+        return new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    private void finish(PrintWriter writer) {
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IllegalStateException("Error writing CSV output");
+        }
+    }
+
     // Escape CSV special characters
     private String escapeCsv(String value) {
         if (value == null)
@@ -2,33 +2,50 @@ package com.loanmanagement.service.report;
 
 import com.loanmanagement.entity.*;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
- * Service for generating Excel reports
+ * Service for generating Excel reports.
+ * Workbooks are built with SXSSF, so only the last {@code rowWindow} rows stay in
+ * memory and older rows are flushed to a temp file. Column widths are computed from
+ * the longest value written instead of autoSizeColumn, which would rescan every row.
  */
 @Service
 public class ExcelReportGenerator {
 
     private static final Logger logger = LoggerFactory.getLogger(ExcelReportGenerator.class);
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    @Value("${app.reports.excel-row-window:100}")
+    private int rowWindow = 100;
 
     /**
      * Generate Loan Summary Report Excel
      */
     public byte[] generateLoanSummaryReport(List<Loan> loans, String title) {
-        logger.info("Generating Loan Summary Excel Report");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeLoanSummaryReport(loans, title, baos);
+        return baos.toByteArray();
+    }
 
-        try (Workbook workbook = new XSSFWorkbook();
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+    /**
+     * Stream Loan Summary Report Excel
+     */
+    public void writeLoanSummaryReport(Iterable<Loan> loans, String title, OutputStream out) {
+        logger.info("Generating Loan Summary Excel Report");
 
+        SXSSFWorkbook workbook = newWorkbook();
+        try {
             Sheet sheet = workbook.createSheet("Loan Summary");
             CellStyle headerStyle = createHeaderStyle(workbook);
             int rowNum = 0;
@@ -46,48 +63,37 @@ public class ExcelReportGenerator {
             rowNum++;
 
             // Headers
-            Row headerRow = sheet.createRow(rowNum++);
             String[] headers = { "Loan ID", "Borrower", "Lender", "Principal", "Interest Rate",
                     "Term (Months)", "Monthly EMI", "Status", "Start Date", "End Date" };
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            ColumnWidths widths = new ColumnWidths(headers.length);
+            addHeaderRow(sheet.createRow(rowNum++), headers, headerStyle, widths);
 
             // Data rows
             for (Loan loan : loans) {
                 Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(loan.getId());
-                row.createCell(1)
-                        .setCellValue(loan.getBorrower() != null
-                                ? loan.getBorrower().getFirstName() + " " + loan.getBorrower().getLastName()
-                                : "N/A");
-                row.createCell(2)
-                        .setCellValue(loan.getLender() != null
-                                ? loan.getLender().getFirstName() + " " + loan.getLender().getLastName()
-                                : "N/A");
-                row.createCell(3).setCellValue(loan.getPrincipalAmount().doubleValue());
-                row.createCell(4).setCellValue(loan.getInterestRate().doubleValue());
-                row.createCell(5).setCellValue(loan.getTermMonths());
-                row.createCell(6)
-                        .setCellValue(loan.getMonthlyPayment() != null ? loan.getMonthlyPayment().doubleValue() : 0);
-                row.createCell(7).setCellValue(loan.getStatus().name());
-                row.createCell(8)
-                        .setCellValue(loan.getStartDate() != null ? loan.getStartDate().format(DATE_FORMAT) : "");
-                row.createCell(9).setCellValue(loan.getEndDate() != null ? loan.getEndDate().format(DATE_FORMAT) : "");
+                setCell(row, 0, loan.getId(), widths);
+                setCell(row, 1, loan.getBorrower() != null
+                        ? loan.getBorrower().getFirstName() + " " + loan.getBorrower().getLastName()
+                        : "N/A", widths);
+                setCell(row, 2, loan.getLender() != null
+                        ? loan.getLender().getFirstName() + " " + loan.getLender().getLastName()
+                        : "N/A", widths);
+                setCell(row, 3, loan.getPrincipalAmount().doubleValue(), widths);
+                setCell(row, 4, loan.getInterestRate().doubleValue(), widths);
+                setCell(row, 5, loan.getTermMonths(), widths);
+                setCell(row, 6, loan.getMonthlyPayment() != null ? loan.getMonthlyPayment().doubleValue() : 0, widths);
+                setCell(row, 7, loan.getStatus().name(), widths);
+                setCell(row, 8, loan.getStartDate() != null ? loan.getStartDate().format(DATE_FORMAT) : "", widths);
+                setCell(row, 9, loan.getEndDate() != null ? loan.getEndDate().format(DATE_FORMAT) : "", widths);
             }
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            workbook.write(baos);
-            return baos.toByteArray();
+            widths.applyTo(sheet);
+            workbook.write(out);
         } catch (Exception e) {
             logger.error("Error generating loan summary Excel: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate Excel report", e);
+        } finally {
+            close(workbook);
         }
     }
 
@@ -97,66 +103,58 @@ public class ExcelReportGenerator {
     public byte[] generateEMIScheduleReport(Loan loan, List<EMISchedule> schedules) {
         logger.info("Generating EMI Schedule Excel for loan: {}", loan.getId());
 
-        try (Workbook workbook = new XSSFWorkbook();
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
+        SXSSFWorkbook workbook = newWorkbook();
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             Sheet sheet = workbook.createSheet("EMI Schedule");
             CellStyle headerStyle = createHeaderStyle(workbook);
+            String[] headers = { "EMI #", "Due Date", "Principal", "Interest", "EMI Amount",
+                    "Penalty", "Amount Paid", "Outstanding", "Status" };
+            ColumnWidths widths = new ColumnWidths(headers.length);
             int rowNum = 0;
 
             // Loan details
             Row infoRow = sheet.createRow(rowNum++);
-            infoRow.createCell(0).setCellValue("Loan ID:");
-            infoRow.createCell(1).setCellValue(loan.getId());
+            setCell(infoRow, 0, "Loan ID:", widths);
+            setCell(infoRow, 1, loan.getId(), widths);
 
             infoRow = sheet.createRow(rowNum++);
-            infoRow.createCell(0).setCellValue("Principal:");
-            infoRow.createCell(1).setCellValue("$" + loan.getPrincipalAmount());
+            setCell(infoRow, 0, "Principal:", widths);
+            setCell(infoRow, 1, "$" + loan.getPrincipalAmount(), widths);
 
             infoRow = sheet.createRow(rowNum++);
-            infoRow.createCell(0).setCellValue("Interest Rate:");
-            infoRow.createCell(1).setCellValue(loan.getInterestRate() + "%");
+            setCell(infoRow, 0, "Interest Rate:", widths);
+            setCell(infoRow, 1, loan.getInterestRate() + "%", widths);
 
             infoRow = sheet.createRow(rowNum++);
-            infoRow.createCell(0).setCellValue("Monthly EMI:");
-            infoRow.createCell(1).setCellValue("$" + loan.getMonthlyPayment());
+            setCell(infoRow, 0, "Monthly EMI:", widths);
+            setCell(infoRow, 1, "$" + loan.getMonthlyPayment(), widths);
             rowNum++;
 
             // Headers
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = { "EMI #", "Due Date", "Principal", "Interest", "EMI Amount",
-                    "Penalty", "Amount Paid", "Outstanding", "Status" };
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            addHeaderRow(sheet.createRow(rowNum++), headers, headerStyle, widths);
 
             // Data rows
             for (EMISchedule emi : schedules) {
                 Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(emi.getEmiNumber());
-                row.createCell(1).setCellValue(emi.getDueDate().format(DATE_FORMAT));
-                row.createCell(2).setCellValue(emi.getPrincipalComponent().doubleValue());
-                row.createCell(3).setCellValue(emi.getInterestComponent().doubleValue());
-                row.createCell(4).setCellValue(emi.getEmiAmount().doubleValue());
-                row.createCell(5)
-                        .setCellValue(emi.getPenaltyAmount() != null ? emi.getPenaltyAmount().doubleValue() : 0);
-                row.createCell(6).setCellValue(emi.getAmountPaid() != null ? emi.getAmountPaid().doubleValue() : 0);
-                row.createCell(7).setCellValue(emi.getOutstandingPrincipal().doubleValue());
-                row.createCell(8).setCellValue(emi.getStatus().name());
-            }
-
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+                setCell(row, 0, emi.getEmiNumber(), widths);
+                setCell(row, 1, emi.getDueDate().format(DATE_FORMAT), widths);
+                setCell(row, 2, emi.getPrincipalComponent().doubleValue(), widths);
+                setCell(row, 3, emi.getInterestComponent().doubleValue(), widths);
+                setCell(row, 4, emi.getEmiAmount().doubleValue(), widths);
+                setCell(row, 5, emi.getPenaltyAmount() != null ? emi.getPenaltyAmount().doubleValue() : 0, widths);
+                setCell(row, 6, emi.getAmountPaid() != null ? emi.getAmountPaid().doubleValue() : 0, widths);
+                setCell(row, 7, emi.getOutstandingPrincipal().doubleValue(), widths);
+                setCell(row, 8, emi.getStatus().name(), widths);
             }
 
+            widths.applyTo(sheet);
             workbook.write(baos);
             return baos.toByteArray();
         } catch (Exception e) {
             logger.error("Error generating EMI schedule Excel: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate Excel report", e);
+        } finally {
+            close(workbook);
         }
     }
 
@@ -164,65 +162,108 @@ public class ExcelReportGenerator {
      * Generate Payment History Report Excel
      */
     public byte[] generatePaymentHistoryReport(List<Payment> payments, String borrowerName) {
-        logger.info("Generating Payment History Excel Report");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePaymentHistoryReport(payments, borrowerName, baos);
+        return baos.toByteArray();
+    }
 
-        try (Workbook workbook = new XSSFWorkbook();
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+    /**
+     * Stream Payment History Report Excel
+     */
+    public void writePaymentHistoryReport(Iterable<Payment> payments, String borrowerName, OutputStream out) {
+        logger.info("Generating Payment History Excel Report");
 
+        SXSSFWorkbook workbook = newWorkbook();
+        try {
             Sheet sheet = workbook.createSheet("Payment History");
             CellStyle headerStyle = createHeaderStyle(workbook);
+            String[] headers = { "Payment #", "Loan ID", "Due Date", "Amount Due",
+                    "Principal", "Interest", "Late Fee", "Amount Paid", "Paid Date", "Status" };
+            ColumnWidths widths = new ColumnWidths(headers.length);
             int rowNum = 0;
 
             // Title
             if (borrowerName != null) {
                 Row infoRow = sheet.createRow(rowNum++);
-                infoRow.createCell(0).setCellValue("Borrower:");
-                infoRow.createCell(1).setCellValue(borrowerName);
+                setCell(infoRow, 0, "Borrower:", widths);
+                setCell(infoRow, 1, borrowerName, widths);
                 rowNum++;
             }
 
             // Headers
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = { "Payment #", "Loan ID", "Due Date", "Amount Due",
-                    "Principal", "Interest", "Late Fee", "Amount Paid", "Paid Date", "Status" };
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            addHeaderRow(sheet.createRow(rowNum++), headers, headerStyle, widths);
 
             // Data rows
             for (Payment payment : payments) {
                 Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(payment.getPaymentNumber());
-                row.createCell(1).setCellValue(payment.getLoan().getId());
-                row.createCell(2).setCellValue(payment.getDueDate().format(DATE_FORMAT));
-                row.createCell(3).setCellValue(payment.getAmountDue().doubleValue());
-                row.createCell(4).setCellValue(
-                        payment.getPrincipalPortion() != null ? payment.getPrincipalPortion().doubleValue() : 0);
-                row.createCell(5).setCellValue(
-                        payment.getInterestPortion() != null ? payment.getInterestPortion().doubleValue() : 0);
-                row.createCell(6).setCellValue(payment.getLateFee() != null ? payment.getLateFee().doubleValue() : 0);
-                row.createCell(7)
-                        .setCellValue(payment.getAmountPaid() != null ? payment.getAmountPaid().doubleValue() : 0);
-                row.createCell(8)
-                        .setCellValue(payment.getPaidDate() != null ? payment.getPaidDate().format(DATE_FORMAT) : "");
-                row.createCell(9).setCellValue(payment.getStatus().name());
+                setCell(row, 0, payment.getPaymentNumber(), widths);
+                setCell(row, 1, payment.getLoan().getId(), widths);
+                setCell(row, 2, payment.getDueDate().format(DATE_FORMAT), widths);
+                setCell(row, 3, payment.getAmountDue().doubleValue(), widths);
+                setCell(row, 4, payment.getPrincipalPortion() != null
+                        ? payment.getPrincipalPortion().doubleValue() : 0, widths);
+                setCell(row, 5, payment.getInterestPortion() != null
+                        ? payment.getInterestPortion().doubleValue() : 0, widths);
+                setCell(row, 6, payment.getLateFee() != null ? payment.getLateFee().doubleValue() : 0, widths);
+                setCell(row, 7, payment.getAmountPaid() != null ? payment.getAmountPaid().doubleValue() : 0, widths);
+                setCell(row, 8, payment.getPaidDate() != null ? payment.getPaidDate().format(DATE_FORMAT) : "",
+                        widths);
+                setCell(row, 9, payment.getStatus().name(), widths);
             }
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            workbook.write(baos);
-            return baos.toByteArray();
+            widths.applyTo(sheet);
+            workbook.write(out);
         } catch (Exception e) {
             logger.error("Error generating payment history Excel: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate Excel report", e);
+        } finally {
+            close(workbook);
         }
     }
 
+    // Helper methods
+    private SXSSFWorkbook newWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    private void close(SXSSFWorkbook workbook) {
+        try {
+            workbook.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close Excel workbook: {}", e.getMessage());
+        } finally {
+            // Remove the temp files backing flushed rows
+            workbook.dispose();
+        }
+    }
+
+    private void addHeaderRow(Row headerRow, String[] headers, CellStyle headerStyle, ColumnWidths widths) {
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+            widths.track(i, headers[i].length());
+        }
+    }
+
+    private void setCell(Row row, int column, String value, ColumnWidths widths) {
+        row.createCell(column).setCellValue(value);
+        widths.track(column, value.length());
+    }
+
+    private void setCell(Row row, int column, double value, ColumnWidths widths) {
+        row.createCell(column).setCellValue(value);
+        widths.track(column, numericLength(value));
+    }
+
+    private int numericLength(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value).length()
+                : Double.toString(value).length();
+    }
+
     // Helper method to create header style
     private CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
@@ -238,4 +279,27 @@ public class ExcelReportGenerator {
         style.setBorderRight(BorderStyle.THIN);
         return style;
     }
+
+    // Tracks the longest value per column as rows are written
+    private static class ColumnWidths {
+        private final int[] maxChars;
+
+        ColumnWidths(int columns) {
+            this.maxChars = new int[columns];
+        }
+
+        void track(int column, int chars) {
+            if (column < maxChars.length && chars > maxChars[column]) {
+                maxChars[column] = chars;
+            }
+        }
+
+        void applyTo(Sheet sheet) {
+            for (int i = 0; i < maxChars.length; i++) {
+                // Width is in 1/256ths of a character; pad for cell margins
+                int chars = Math.min(maxChars[i] + 2, MAX_COLUMN_CHARS);
+                sheet.setColumnWidth(i, chars * 256);
+            }
+        }
+    }
 }
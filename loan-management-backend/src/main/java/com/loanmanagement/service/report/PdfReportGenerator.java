@@ -13,16 +13,21 @@ import com.itextpdf.layout.properties.UnitValue;
 import com.loanmanagement.entity.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * Service for generating PDF reports
+ * Service for generating PDF reports.
+ * Row-oriented reports use iText large tables: completed rows are flushed to the output
+ * in batches, so memory stays bounded regardless of how many pages are produced.
  */
 @Service
 @SuppressWarnings("unused")
@@ -33,35 +38,37 @@ public class PdfReportGenerator {
     private static final DeviceRgb HEADER_TEXT = new DeviceRgb(255, 255, 255);
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
 
+    @Value("${app.reports.pdf-flush-rows:100}")
+    private int flushRows = 100;
+
     /**
      * Generate Loan Summary Report PDF
      */
     public byte[] generateLoanSummaryReport(List<Loan> loans, String title) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeLoanSummaryReport(loans, title, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Stream Loan Summary Report PDF using a large table that is flushed as rows arrive
+     */
+    public void writeLoanSummaryReport(Iterable<Loan> loans, String title, OutputStream out) {
         logger.info("Generating Loan Summary PDF Report");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+        try {
+            Document document = newDocument(out);
 
             // Title
             addTitle(document, title);
             addGeneratedDate(document);
 
-            // Summary stats
-            addParagraph(document, "Total Loans: " + loans.size());
-
-            BigDecimal totalPrincipal = loans.stream()
-                    .map(Loan::getPrincipalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            addParagraph(document, "Total Principal Amount: $" + totalPrincipal);
-
             // Loans table
-            Table table = new Table(UnitValue.createPercentArray(new float[] { 1, 2, 2, 2, 2, 2 }));
-            table.setWidth(UnitValue.createPercentValue(100));
+            Table table = newLargeTable(document, "ID", "Borrower", "Principal", "Interest Rate", "Status",
+                    "Start Date");
 
-            // Headers
-            addTableHeader(table, "ID", "Borrower", "Principal", "Interest Rate", "Status", "Start Date");
+            long count = 0;
+            BigDecimal totalPrincipal = BigDecimal.ZERO;
 
             // Data rows
             for (Loan loan : loans) {
@@ -74,12 +81,19 @@ public class PdfReportGenerator {
                 addCell(table, loan.getInterestRate() + "%");
                 addCell(table, loan.getStatus().name());
                 addCell(table, loan.getStartDate() != null ? loan.getStartDate().format(DATE_FORMAT) : "N/A");
+
+                totalPrincipal = totalPrincipal.add(loan.getPrincipalAmount());
+                flushIfDue(table, ++count);
             }
 
-            document.add(table);
-            document.close();
+            table.complete();
 
-            return baos.toByteArray();
+            // Summary stats, known only once every row has been written
+            addParagraph(document, "");
+            addParagraph(document, "Total Loans: " + count);
+            addParagraph(document, "Total Principal Amount: $" + totalPrincipal);
+
+            document.close();
         } catch (Exception e) {
             logger.error("Error generating loan summary PDF: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate PDF report", e);
@@ -142,12 +156,19 @@ public class PdfReportGenerator {
      * Generate Payment History Report PDF
      */
     public byte[] generatePaymentHistoryReport(List<Payment> payments, String borrowerName) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePaymentHistoryReport(payments, borrowerName, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Stream Payment History Report PDF using a large table that is flushed as rows arrive
+     */
+    public void writePaymentHistoryReport(Iterable<Payment> payments, String borrowerName, OutputStream out) {
         logger.info("Generating Payment History PDF Report");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+        try {
+            Document document = newDocument(out);
 
             addTitle(document, "Payment History Report");
             addGeneratedDate(document);
@@ -155,20 +176,12 @@ public class PdfReportGenerator {
                 addParagraph(document, "Borrower: " + borrowerName);
             }
 
-            // Summary
-            BigDecimal totalPaid = payments.stream()
-                    .filter(p -> p.getAmountPaid() != null)
-                    .map(Payment::getAmountPaid)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            addParagraph(document, "Total Payments: " + payments.size());
-            addParagraph(document, "Total Amount Paid: $" + totalPaid);
-            addParagraph(document, "");
-
             // Payments table
-            Table table = new Table(UnitValue.createPercentArray(new float[] { 1, 2, 2, 2, 2, 2 }));
-            table.setWidth(UnitValue.createPercentValue(100));
+            Table table = newLargeTable(document, "#", "Due Date", "Amount Due", "Amount Paid", "Paid Date",
+                    "Status");
 
-            addTableHeader(table, "#", "Due Date", "Amount Due", "Amount Paid", "Paid Date", "Status");
+            long count = 0;
+            BigDecimal totalPaid = BigDecimal.ZERO;
 
             for (Payment payment : payments) {
                 addCell(table, payment.getPaymentNumber().toString());
@@ -177,12 +190,21 @@ public class PdfReportGenerator {
                 addCell(table, payment.getAmountPaid() != null ? "$" + payment.getAmountPaid() : "-");
                 addCell(table, payment.getPaidDate() != null ? payment.getPaidDate().format(DATE_FORMAT) : "-");
                 addCell(table, payment.getStatus().name());
+
+                if (payment.getAmountPaid() != null) {
+                    totalPaid = totalPaid.add(payment.getAmountPaid());
+                }
+                flushIfDue(table, ++count);
             }
 
-            document.add(table);
-            document.close();
+            table.complete();
 
-            return baos.toByteArray();
+            // Summary
+            addParagraph(document, "");
+            addParagraph(document, "Total Payments: " + count);
+            addParagraph(document, "Total Amount Paid: $" + totalPaid);
+
+            document.close();
         } catch (Exception e) {
             logger.error("Error generating payment history PDF: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate PDF report", e);
@@ -227,6 +249,32 @@ public class PdfReportGenerator {
     }
 
     // Helper methods
+
+    // Document over the caller's stream; closing the document does not close the stream
+    private Document newDocument(OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        return new Document(new PdfDocument(writer));
+    }
+
+    // Large tables are added to the document up front and laid out incrementally on flush()
+    private Table newLargeTable(Document document, String... headers) {
+        float[] widths = new float[headers.length];
+        Arrays.fill(widths, 2);
+        widths[0] = 1;
+        Table table = new Table(UnitValue.createPercentArray(widths), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+        addTableHeader(table, headers);
+        document.add(table);
+        return table;
+    }
+
+    private void flushIfDue(Table table, long rows) {
+        if (rows % flushRows == 0) {
+            table.flush();
+        }
+    }
+
     private void addTitle(Document document, String title) {
         Paragraph p = new Paragraph(title)
                 .setFontSize(18)
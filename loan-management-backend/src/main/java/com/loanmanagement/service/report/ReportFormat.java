@@ -0,0 +1,44 @@
+package com.loanmanagement.service.report;
+
+/**
+ * Output formats supported by report downloads
+ */
+public enum ReportFormat {
+    PDF("application/pdf", ".pdf"),
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx"),
+    CSV("text/csv", ".csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ReportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolve a request "format" parameter; unknown values fall back to PDF
+     */
+    public static ReportFormat of(String format) {
+        if (format == null) {
+            return PDF;
+        }
+        switch (format.toLowerCase()) {
+            case "excel":
+            case "xlsx":
+                return EXCEL;
+            case "csv":
+                return CSV;
+            default:
+                return PDF;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.loanmanagement.service.report;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory state of an asynchronous report generation job
+ */
+public class ReportJob {
+
+    public enum Type {
+        LOANS, PAYMENTS, OVERDUE, TRANSACTIONS
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final String dedupeKey;
+    private final Type type;
+    private final ReportFormat format;
+    private final String loanStatus;
+    private final Long loanId;
+    private final String requestedBy;
+    private final String filename;
+    private final LocalDateTime createdAt;
+    private final AtomicLong rowsProcessed = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile LocalDateTime expiresAt;
+    private volatile Long totalRows;
+    private volatile Path file;
+    private volatile String error;
+
+    public ReportJob(String id, String dedupeKey, Type type, ReportFormat format, String loanStatus, Long loanId,
+            String requestedBy, String filename) {
+        this.id = id;
+        this.dedupeKey = dedupeKey;
+        this.type = type;
+        this.format = format;
+        this.loanStatus = loanStatus;
+        this.loanId = loanId;
+        this.requestedBy = requestedBy;
+        this.filename = filename;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+
+    void markRunning(Long totalRows) {
+        this.totalRows = totalRows;
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void markCompleted(Path file, LocalDateTime expiresAt) {
+        this.file = file;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.status = Status.COMPLETED;
+    }
+
+    void markFailed(String error, LocalDateTime expiresAt) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.status = Status.FAILED;
+    }
+
+    AtomicLong rowCounter() {
+        return rowsProcessed;
+    }
+
+    /**
+     * Percentage of rows written, or null when the total is unknown
+     */
+    public Integer getProgress() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        Long total = totalRows;
+        if (total == null || total == 0) {
+            return status == Status.QUEUED ? 0 : null;
+        }
+        return (int) Math.min(99, rowsProcessed.get() * 100 / total);
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getDedupeKey() {
+        return dedupeKey;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public String getLoanStatus() {
+        return loanStatus;
+    }
+
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public Long getTotalRows() {
+        return totalRows;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
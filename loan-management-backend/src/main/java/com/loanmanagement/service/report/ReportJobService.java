@@ -0,0 +1,300 @@
+package com.loanmanagement.service.report;
+
+import com.loanmanagement.entity.Loan;
+import com.loanmanagement.entity.LoanStatus;
+import com.loanmanagement.entity.Payment;
+import com.loanmanagement.exception.BadRequestException;
+import com.loanmanagement.exception.ResourceNotFoundException;
+import com.loanmanagement.exception.TooManyRequestsException;
+import com.loanmanagement.repository.LoanRepository;
+import com.loanmanagement.repository.PaymentRepository;
+import com.loanmanagement.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs large report exports in the background.
+ * Jobs execute on the bounded reportJobExecutor and write their output to a local
+ * file store; finished files are removed once their TTL expires. Identical requests
+ * from the same user submitted while a job is queued or running share that job. Jobs
+ * are only visible to the user who submitted them, and to admins.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final TaskExecutor executor;
+    private final PdfReportGenerator pdfGenerator;
+    private final ExcelReportGenerator excelGenerator;
+    private final CsvReportGenerator csvGenerator;
+    private final ReportRowSource rowSource;
+    private final LoanRepository loanRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> activeJobs = new ConcurrentHashMap<>();
+
+    @Value("${app.reports.jobs.dir:${java.io.tmpdir}/loan-reports}")
+    private String storeDir;
+
+    @Value("${app.reports.jobs.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private Path store;
+
+    public ReportJobService(@Qualifier("reportJobExecutor") TaskExecutor executor,
+            PdfReportGenerator pdfGenerator,
+            ExcelReportGenerator excelGenerator,
+            CsvReportGenerator csvGenerator,
+            ReportRowSource rowSource,
+            LoanRepository loanRepository,
+            PaymentRepository paymentRepository,
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager) {
+        this.executor = executor;
+        this.pdfGenerator = pdfGenerator;
+        this.excelGenerator = excelGenerator;
+        this.csvGenerator = csvGenerator;
+        this.rowSource = rowSource;
+        this.loanRepository = loanRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void initStore() throws IOException {
+        store = Files.createDirectories(Paths.get(storeDir));
+        // Job state is in memory, so files left from a previous run can never be downloaded
+        try (Stream<Path> leftovers = Files.list(store)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+    }
+
+    /**
+     * Submit a report job, or return the caller's queued/running job for an identical request
+     */
+    public ReportJob submit(ReportJob.Type type, String format, String status, Long loanId, String requestedBy) {
+        ReportFormat reportFormat = type == ReportJob.Type.TRANSACTIONS ? ReportFormat.CSV : ReportFormat.of(format);
+        String loanStatus = status != null && !status.isEmpty() ? parseStatus(status).name() : null;
+        LocalDate today = LocalDate.now();
+        String dedupeKey = String.join("|", requestedBy, type.name(), reportFormat.name(),
+                String.valueOf(loanStatus), String.valueOf(loanId), today.toString());
+
+        ReportJob candidate = new ReportJob(UUID.randomUUID().toString(), dedupeKey, type, reportFormat,
+                loanStatus, loanId, requestedBy, filenameFor(type, today) + reportFormat.getExtension());
+
+        ReportJob job = activeJobs.compute(dedupeKey,
+                (key, existing) -> existing != null && existing.isActive() ? existing : candidate);
+        if (job != candidate) {
+            logger.info("Report job {} reused for identical request", job.getId());
+            return job;
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            activeJobs.remove(dedupeKey, job);
+            throw new TooManyRequestsException("Report queue is full, please retry later", 30);
+        }
+        logger.info("Report job {} queued: {} {} by {}", job.getId(), type, reportFormat, requestedBy);
+        return job;
+    }
+
+    /**
+     * Get a job by id. Other users' jobs are reported as not found unless the caller is
+     * an admin.
+     */
+    public ReportJob getJob(String id, String requester, boolean admin) {
+        ReportJob job = jobs.get(id);
+        if (job == null || (!admin && !job.getRequestedBy().equals(requester))) {
+            throw new ResourceNotFoundException("Report job", "id", id);
+        }
+        return job;
+    }
+
+    /**
+     * Get the finished file of a completed job, with the same visibility as getJob
+     */
+    public ReportJob getCompletedJob(String id, String requester, boolean admin) {
+        ReportJob job = getJob(id, requester, admin);
+        if (job.getStatus() != ReportJob.Status.COMPLETED) {
+            throw new BadRequestException("Report job is " + job.getStatus().name().toLowerCase());
+        }
+        if (job.getFile() == null || !Files.exists(job.getFile())) {
+            throw new ResourceNotFoundException("Report file", "job", id);
+        }
+        return job;
+    }
+
+    /**
+     * Every 5 minutes: Remove expired jobs and their files
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval-ms:300000}")
+    public void cleanupExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        Iterator<ReportJob> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            ReportJob job = it.next();
+            if (job.getExpiresAt() != null && job.getExpiresAt().isBefore(now)) {
+                it.remove();
+                if (job.getFile() != null) {
+                    deleteQuietly(job.getFile());
+                }
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            logger.info("Removed {} expired report jobs", removed);
+        }
+    }
+
+    private void run(ReportJob job) {
+        Path partial = store.resolve(job.getId() + ".part");
+        try {
+            job.markRunning(countRows(job));
+            // One read-only transaction keeps a persistence context open for the whole export
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                readOnlyTx.executeWithoutResult(tx -> write(job, out));
+            }
+            Path target = store.resolve(job.getId() + job.getFormat().getExtension());
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(target, LocalDateTime.now().plusMinutes(ttlMinutes));
+            logger.info("Report job {} completed: {} rows", job.getId(), job.getRowsProcessed());
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.markFailed(e.getMessage(), LocalDateTime.now().plusMinutes(ttlMinutes));
+            logger.error("Report job {} failed: {}", job.getId(), e.getMessage(), e);
+        } finally {
+            activeJobs.remove(job.getDedupeKey(), job);
+        }
+    }
+
+    private void write(ReportJob job, OutputStream out) {
+        AtomicLong counter = job.rowCounter();
+        LoanStatus status = job.getLoanStatus() != null ? LoanStatus.valueOf(job.getLoanStatus()) : null;
+        String title = "Loan Summary Report - " + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+
+        switch (job.getType()) {
+            case LOANS -> {
+                Iterable<Loan> loans = counting(rowSource.loans(status), counter);
+                switch (job.getFormat()) {
+                    case CSV -> csvGenerator.writeLoanSummaryReport(loans, out);
+                    case EXCEL -> excelGenerator.writeLoanSummaryReport(loans, title, out);
+                    case PDF -> pdfGenerator.writeLoanSummaryReport(loans, title, out);
+                }
+            }
+            case PAYMENTS, OVERDUE -> {
+                Iterable<Payment> payments;
+                String borrowerName = null;
+                if (job.getType() == ReportJob.Type.OVERDUE) {
+                    payments = rowSource.overduePayments(LocalDate.now());
+                    borrowerName = "Overdue Payments";
+                } else if (job.getLoanId() != null) {
+                    Loan loan = loanRepository.findById(job.getLoanId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Loan", "id", job.getLoanId()));
+                    payments = paymentRepository.findByLoanOrderByPaymentNumberAsc(loan);
+                } else {
+                    payments = rowSource.payments();
+                }
+                payments = counting(payments, counter);
+                switch (job.getFormat()) {
+                    case CSV -> csvGenerator.writePaymentHistoryReport(payments, out);
+                    case EXCEL -> excelGenerator.writePaymentHistoryReport(payments, borrowerName, out);
+                    case PDF -> pdfGenerator.writePaymentHistoryReport(payments, borrowerName, out);
+                }
+            }
+            case TRANSACTIONS -> csvGenerator.writeTransactionLedger(
+                    counting(rowSource.transactions(job.getLoanId()), counter), out);
+        }
+    }
+
+    private Long countRows(ReportJob job) {
+        LoanStatus status = job.getLoanStatus() != null ? LoanStatus.valueOf(job.getLoanStatus()) : null;
+        return switch (job.getType()) {
+            case LOANS -> status != null ? loanRepository.countByStatus(status) : loanRepository.count();
+            case PAYMENTS -> job.getLoanId() != null ? null : paymentRepository.count();
+            case OVERDUE -> paymentRepository.countOverduePayments(LocalDate.now());
+            case TRANSACTIONS -> job.getLoanId() != null
+                    ? transactionRepository.countByLoanId(job.getLoanId())
+                    : transactionRepository.count();
+        };
+    }
+
+    private String filenameFor(ReportJob.Type type, LocalDate date) {
+        return switch (type) {
+            case LOANS -> "loan_summary_" + date;
+            case PAYMENTS -> "payment_history_" + date;
+            case OVERDUE -> "overdue_report_" + date;
+            case TRANSACTIONS -> "transaction_ledger_" + date;
+        };
+    }
+
+    private LoanStatus parseStatus(String status) {
+        try {
+            return LoanStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown loan status: " + status);
+        }
+    }
+
+    private static <T> Iterable<T> counting(Iterable<T> source, AtomicLong counter) {
+        return () -> {
+            Iterator<T> it = source.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    T next = it.next();
+                    counter.incrementAndGet();
+                    return next;
+                }
+            };
+        };
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete report file {}: {}", file, e.getMessage());
+        }
+    }
+}
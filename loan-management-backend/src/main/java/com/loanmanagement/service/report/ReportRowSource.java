@@ -0,0 +1,133 @@
+package com.loanmanagement.service.report;
+
+import com.loanmanagement.entity.Loan;
+import com.loanmanagement.entity.LoanStatus;
+import com.loanmanagement.entity.Payment;
+import com.loanmanagement.entity.Transaction;
+import com.loanmanagement.repository.LoanRepository;
+import com.loanmanagement.repository.PaymentRepository;
+import com.loanmanagement.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Supplies report rows as lazily paged iterables using keyset pagination on id.
+ * Only one page is held at a time and the persistence context is cleared between
+ * pages, so memory stays flat regardless of table size.
+ */
+@Component
+public class ReportRowSource {
+
+    private final LoanRepository loanRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionRepository transactionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.reports.page-size:500}")
+    private int pageSize;
+
+    public ReportRowSource(LoanRepository loanRepository,
+            PaymentRepository paymentRepository,
+            TransactionRepository transactionRepository) {
+        this.loanRepository = loanRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * All loans, or loans with the given status, with borrower and lender fetched
+     */
+    public Iterable<Loan> loans(LoanStatus status) {
+        return () -> new KeysetIterator<>(afterId -> status != null
+                ? loanRepository.findPageByStatusAfter(status, afterId, page())
+                : loanRepository.findPageAfter(afterId, page()),
+                Loan::getId);
+    }
+
+    /**
+     * All payments in id order
+     */
+    public Iterable<Payment> payments() {
+        return () -> new KeysetIterator<>(afterId -> paymentRepository.findByIdGreaterThanOrderByIdAsc(afterId, page()),
+                Payment::getId);
+    }
+
+    /**
+     * Pending payments due on or before the given date
+     */
+    public Iterable<Payment> overduePayments(LocalDate date) {
+        return () -> new KeysetIterator<>(afterId -> paymentRepository.findOverduePaymentsAfter(date, afterId, page()),
+                Payment::getId);
+    }
+
+    /**
+     * All transactions, or the transactions of one loan
+     */
+    public Iterable<Transaction> transactions(Long loanId) {
+        return () -> new KeysetIterator<>(afterId -> loanId != null
+                ? transactionRepository.findByLoanIdAndIdGreaterThanOrderByIdAsc(loanId, afterId, page())
+                : transactionRepository.findByIdGreaterThanOrderByIdAsc(afterId, page()),
+                Transaction::getId);
+    }
+
+    private Pageable page() {
+        return PageRequest.ofSize(pageSize);
+    }
+
+    private class KeysetIterator<T> implements Iterator<T> {
+
+        private final Function<Long, List<T>> fetcher;
+        private final Function<T, Long> idOf;
+        private Iterator<T> current = Collections.emptyIterator();
+        private long lastId = 0L;
+        private boolean exhausted = false;
+
+        KeysetIterator(Function<Long, List<T>> fetcher, Function<T, Long> idOf) {
+            this.fetcher = fetcher;
+            this.idOf = idOf;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (current.hasNext()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            // Drop the previous page from the persistence context before loading the next one
+            entityManager.clear();
+            List<T> page = fetcher.apply(lastId);
+            if (page.size() < pageSize) {
+                exhausted = true;
+            }
+            if (page.isEmpty()) {
+                return false;
+            }
+            lastId = idOf.apply(page.get(page.size() - 1));
+            current = page.iterator();
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+-- Schema added since the V1 baseline. Runs on fresh and baselined databases alike, and
+-- tolerates objects that hibernate ddl-auto already created before Flyway took over.
+-- Indexes on the existing tables are built by V1_2__SeriesIndexes.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS portfolio_snapshots (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    snapshot_date         DATE           NOT NULL,
+    active_loans          BIGINT         NOT NULL,
+    completed_loans       BIGINT         NOT NULL,
+    defaulted_loans       BIGINT         NOT NULL,
+    outstanding_principal NUMERIC(15, 2) NOT NULL,
+    overdue_count         BIGINT         NOT NULL,
+    overdue_amount        NUMERIC(15, 2) NOT NULL,
+    default_rate          NUMERIC(5, 2)  NOT NULL,
+    disbursed_amount      NUMERIC(15, 2) NOT NULL,
+    payment_amount        NUMERIC(15, 2) NOT NULL,
+    fee_amount            NUMERIC(15, 2) NOT NULL,
+    penalty_amount        NUMERIC(15, 2) NOT NULL,
+    refund_amount         NUMERIC(15, 2) NOT NULL,
+    adjustment_amount     NUMERIC(15, 2) NOT NULL,
+    created_at            TIMESTAMP      NOT NULL,
+    CONSTRAINT uk_snapshot_date UNIQUE (snapshot_date)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    jti        VARCHAR(36) PRIMARY KEY,
+    user_id    BIGINT      NOT NULL,
+    expires_at TIMESTAMP   NOT NULL,
+    used       BOOLEAN     DEFAULT FALSE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
@@ -0,0 +1,156 @@
+-- Baseline: the schema hibernate ddl-auto maintained before Flyway took over. Existing
+-- databases are baselined at this version (spring.flyway.baseline-version) and skip it,
+-- so anything added since goes into later versions, which run on both.
+-- Portable between H2 and PostgreSQL. Enum columns are plain VARCHAR so new enum
+-- constants do not need a migration.
+
+CREATE TABLE users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email             VARCHAR(255)   NOT NULL,
+    password          VARCHAR(255)   NOT NULL,
+    first_name        VARCHAR(255)   NOT NULL,
+    last_name         VARCHAR(255)   NOT NULL,
+    phone_number      VARCHAR(255),
+    role              VARCHAR(30)    NOT NULL,
+    enabled           BOOLEAN        NOT NULL,
+    credit_score      INTEGER,
+    risk_score        NUMERIC(5, 2),
+    risk_level        VARCHAR(20),
+    address           VARCHAR(500),
+    annual_income     NUMERIC(15, 2),
+    employment_status VARCHAR(50),
+    created_at        TIMESTAMP      NOT NULL,
+    updated_at        TIMESTAMP,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE loans (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    lender_id             BIGINT         NOT NULL,
+    borrower_id           BIGINT,
+    principal_amount      NUMERIC(15, 2) NOT NULL,
+    interest_rate         NUMERIC(5, 2)  NOT NULL,
+    term_months           INTEGER        NOT NULL,
+    monthly_payment       NUMERIC(15, 2),
+    total_interest        NUMERIC(15, 2),
+    remaining_balance     NUMERIC(15, 2),
+    status                VARCHAR(30)    NOT NULL,
+    interest_type         VARCHAR(30)    NOT NULL,
+    emi_type              VARCHAR(30)    NOT NULL,
+    penalty_rate          NUMERIC(5, 2),
+    total_penalty_accrued NUMERIC(15, 2),
+    description           VARCHAR(500),
+    start_date            DATE,
+    end_date              DATE,
+    created_at            TIMESTAMP      NOT NULL,
+    updated_at            TIMESTAMP,
+    CONSTRAINT fk_loans_lender FOREIGN KEY (lender_id) REFERENCES users (id),
+    CONSTRAINT fk_loans_borrower FOREIGN KEY (borrower_id) REFERENCES users (id)
+);
+
+CREATE TABLE loan_applications (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    borrower_id           BIGINT         NOT NULL,
+    loan_id               BIGINT,
+    requested_amount      NUMERIC(15, 2) NOT NULL,
+    requested_term_months INTEGER        NOT NULL,
+    purpose               VARCHAR(500)   NOT NULL,
+    annual_income         NUMERIC(15, 2),
+    employment_status     VARCHAR(255),
+    credit_score          INTEGER,
+    status                VARCHAR(30)    NOT NULL,
+    rejection_reason      VARCHAR(500),
+    reviewed_by           BIGINT,
+    reviewed_at           TIMESTAMP,
+    created_at            TIMESTAMP      NOT NULL,
+    updated_at            TIMESTAMP,
+    CONSTRAINT fk_applications_borrower FOREIGN KEY (borrower_id) REFERENCES users (id),
+    CONSTRAINT fk_applications_loan FOREIGN KEY (loan_id) REFERENCES loans (id),
+    CONSTRAINT fk_applications_reviewer FOREIGN KEY (reviewed_by) REFERENCES users (id)
+);
+
+CREATE TABLE payments (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    loan_id               BIGINT         NOT NULL,
+    payment_number        INTEGER        NOT NULL,
+    amount_due            NUMERIC(15, 2) NOT NULL,
+    principal_portion     NUMERIC(15, 2),
+    interest_portion      NUMERIC(15, 2),
+    amount_paid           NUMERIC(15, 2),
+    late_fee              NUMERIC(15, 2),
+    due_date              DATE           NOT NULL,
+    paid_date             DATE,
+    status                VARCHAR(30)    NOT NULL,
+    prepayment_amount     NUMERIC(15, 2),
+    payment_method        VARCHAR(50),
+    transaction_reference VARCHAR(100),
+    notes                 VARCHAR(500),
+    created_at            TIMESTAMP      NOT NULL,
+    updated_at            TIMESTAMP,
+    CONSTRAINT fk_payments_loan FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+CREATE TABLE emi_schedules (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    loan_id               BIGINT         NOT NULL,
+    emi_number            INTEGER        NOT NULL,
+    due_date              DATE           NOT NULL,
+    principal_component   NUMERIC(15, 2) NOT NULL,
+    interest_component    NUMERIC(15, 2) NOT NULL,
+    emi_amount            NUMERIC(15, 2) NOT NULL,
+    outstanding_principal NUMERIC(15, 2) NOT NULL,
+    penalty_amount        NUMERIC(15, 2),
+    amount_paid           NUMERIC(15, 2),
+    status                VARCHAR(30)    NOT NULL,
+    paid_date             DATE,
+    created_at            TIMESTAMP      NOT NULL,
+    updated_at            TIMESTAMP,
+    CONSTRAINT fk_emi_schedules_loan FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+CREATE TABLE transactions (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    loan_id          BIGINT         NOT NULL,
+    type             VARCHAR(30)    NOT NULL,
+    amount           NUMERIC(15, 2) NOT NULL,
+    description      VARCHAR(500),
+    transaction_date TIMESTAMP      NOT NULL,
+    created_at       TIMESTAMP      NOT NULL,
+    CONSTRAINT fk_transactions_loan FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+CREATE TABLE notifications (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id             BIGINT       NOT NULL,
+    type                VARCHAR(30)  NOT NULL,
+    title               VARCHAR(200) NOT NULL,
+    message             TEXT,
+    related_entity_type VARCHAR(50),
+    related_entity_id   BIGINT,
+    action_url          VARCHAR(255),
+    is_read             BOOLEAN      NOT NULL,
+    read_at             TIMESTAMP,
+    created_at          TIMESTAMP    NOT NULL,
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+CREATE INDEX idx_notification_user ON notifications (user_id);
+CREATE INDEX idx_notification_read ON notifications (is_read);
+
+CREATE TABLE audit_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT,
+    user_email  VARCHAR(255),
+    user_role   VARCHAR(50),
+    action      VARCHAR(20)  NOT NULL,
+    entity_type VARCHAR(50)  NOT NULL,
+    entity_id   BIGINT,
+    old_value   TEXT,
+    new_value   TEXT,
+    description VARCHAR(500),
+    ip_address  VARCHAR(50),
+    user_agent  VARCHAR(255),
+    timestamp   TIMESTAMP    NOT NULL
+);
+CREATE INDEX idx_audit_user ON audit_logs (user_id);
+CREATE INDEX idx_audit_entity ON audit_logs (entity_type, entity_id);
+CREATE INDEX idx_audit_timestamp ON audit_logs (timestamp);
@@ -0,0 +1,63 @@
+-- Monthly range partitions for notifications, so retention can drop whole months
+-- instead of deleting rows. Only applied with the "partitioned" profile on PostgreSQL
+-- (see application-partitioned.yml). The table is rebuilt, so run it in a
+-- maintenance window.
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER TABLE notifications_legacy RENAME CONSTRAINT fk_notifications_user TO fk_notifications_legacy_user;
+ALTER INDEX IF EXISTS idx_notification_user RENAME TO idx_notification_legacy_user;
+ALTER INDEX IF EXISTS idx_notification_read RENAME TO idx_notification_legacy_read;
+ALTER INDEX IF EXISTS idx_notification_user_created RENAME TO idx_notification_legacy_user_created;
+ALTER INDEX IF EXISTS idx_notification_user_unread RENAME TO idx_notification_legacy_user_unread;
+ALTER INDEX IF EXISTS idx_notification_user_type RENAME TO idx_notification_legacy_user_type;
+
+-- Identity columns are not allowed on partitioned tables before PostgreSQL 17
+CREATE SEQUENCE notifications_id_seq;
+
+-- The partition key must be part of the primary key
+CREATE TABLE notifications (
+    id                  BIGINT       NOT NULL DEFAULT nextval('notifications_id_seq'),
+    user_id             BIGINT       NOT NULL,
+    type                VARCHAR(30)  NOT NULL,
+    title               VARCHAR(200) NOT NULL,
+    message             TEXT,
+    related_entity_type VARCHAR(50),
+    related_entity_id   BIGINT,
+    action_url          VARCHAR(255),
+    is_read             BOOLEAN      NOT NULL,
+    read_at             TIMESTAMP,
+    created_at          TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_notifications PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (created_at);
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Same inbox indexes as V4__NotificationInboxIndexes, which may already have run
+CREATE INDEX idx_notification_user_created ON notifications (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_notification_user_unread ON notifications (user_id, is_read, created_at DESC, id DESC);
+CREATE INDEX idx_notification_user_type ON notifications (user_id, type, created_at DESC, id DESC);
+
+-- One partition per month from the oldest row through two months ahead;
+-- NotificationRetentionService keeps creating them from here on
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE(
+            (SELECT MIN(created_at) FROM notifications_legacy), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '2 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE notifications_p%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                to_char(month_start, 'YYYYMM'), month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, user_id, type, title, message, related_entity_type, related_entity_id,
+        action_url, is_read, read_at, created_at)
+SELECT id, user_id, type, title, message, related_entity_type, related_entity_id,
+        action_url, is_read, read_at, created_at
+FROM notifications_legacy;
+
+SELECT setval('notifications_id_seq', COALESCE((SELECT MAX(id) FROM notifications), 0) + 1, false);
+
+DROP TABLE notifications_legacy;
@@ -0,0 +1,13 @@
+-- Hibernate ddl-auto created a CHECK (col IN (...)) constraint for every enum column, which
+-- rejects constants added since (e.g. AuditAction.LOGIN_LOCKOUT). Enum columns are plain
+-- VARCHAR from the baseline on; drop the generated checks on databases that predate it.
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_role_check;
+ALTER TABLE loans DROP CONSTRAINT IF EXISTS loans_status_check;
+ALTER TABLE loans DROP CONSTRAINT IF EXISTS loans_interest_type_check;
+ALTER TABLE loans DROP CONSTRAINT IF EXISTS loans_emi_type_check;
+ALTER TABLE loan_applications DROP CONSTRAINT IF EXISTS loan_applications_status_check;
+ALTER TABLE payments DROP CONSTRAINT IF EXISTS payments_status_check;
+ALTER TABLE emi_schedules DROP CONSTRAINT IF EXISTS emi_schedules_status_check;
+ALTER TABLE transactions DROP CONSTRAINT IF EXISTS transactions_type_check;
+ALTER TABLE notifications DROP CONSTRAINT IF EXISTS notifications_type_check;
+ALTER TABLE audit_logs DROP CONSTRAINT IF EXISTS audit_logs_action_check;
@@ -0,0 +1,107 @@
+package com.loanmanagement.benchmark;
+
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
+import com.loanmanagement.repository.UserRepository;
+import com.loanmanagement.security.JwtAuthenticationFilter;
+import com.loanmanagement.security.JwtTokenProvider;
+import com.loanmanagement.security.TokenVersionCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of JWT authentication: the whole filter, a single parse with the
+ * cached key and parser, and the old path that rebuilt the key and parsed the token
+ * twice (once to validate it, once to read the username).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJwtTokenGenerationThatIsLongEnoughForHmacSha";
+
+    private JwtTokenProvider provider;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+
+        User user = User.builder().id(7L).email("user@example.com").firstName("Bench").lastName("User")
+                .role(Role.BORROWER).enabled(true).build();
+        token = provider.generateToken(user);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findActiveTokenVersion(7L)).thenReturn(Optional.of(user.getTokenVersion()));
+        filter = new JwtAuthenticationFilter(provider, username -> user, new TokenVersionCache(userRepository));
+
+        request = new MockHttpServletRequest("GET", "/api/loans");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+        if (filter() == null) {
+            throw new IllegalStateException("Benchmark token was not accepted by the filter");
+        }
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return provider.parseClaims(token);
+    }
+
+    @Benchmark
+    public String legacyParseTwice() {
+        Jwts.parser().verifyWith(legacySigningKey()).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(legacySigningKey()).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    private static SecretKey legacySigningKey() {
+        byte[] keyBytes = Decoders.BASE64.decode(Base64.getEncoder().encodeToString(SECRET.getBytes()));
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
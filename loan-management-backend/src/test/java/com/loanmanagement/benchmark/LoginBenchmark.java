@@ -0,0 +1,63 @@
+package com.loanmanagement.benchmark;
+
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second per core at each BCrypt cost: one benchmark thread runs the same
+ * DaoAuthenticationProvider check a login runs on the login executor, which is sized
+ * one thread per core. Use it to pick app.security.bcrypt-strength; each step up
+ * halves the rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({ "10", "11", "12" })
+    public int strength;
+
+    private DaoAuthenticationProvider provider;
+    private UsernamePasswordAuthenticationToken request;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        User user = User.builder().id(1L).email("user@example.com").password(encoder.encode(PASSWORD))
+                .firstName("Bench").lastName("User").role(Role.BORROWER).enabled(true).build();
+
+        provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> user);
+        provider.setPasswordEncoder(encoder);
+        request = UsernamePasswordAuthenticationToken.unauthenticated(user.getEmail(), PASSWORD);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(request);
+    }
+}
@@ -0,0 +1,179 @@
+package com.loanmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.loanmanagement.config.JacksonConfig;
+import com.loanmanagement.dto.response.ApiResponse;
+import com.loanmanagement.dto.response.AuditLogResponse;
+import com.loanmanagement.dto.response.NotificationResponse;
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import com.loanmanagement.entity.Notification;
+import com.loanmanagement.entity.NotificationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing one notification or audit log list page, from entities to JSON
+ * bytes, on three paths: the old HashMap-per-entity path, typed DTOs through the
+ * reflective bean serializers (app.json.fast-serializers=false), and typed DTOs
+ * through the hand-written serializers in {@link JacksonConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({ "20", "200" })
+    public int pageSize;
+
+    private ObjectMapper reflectiveMapper;
+    private ObjectMapper fastMapper;
+    private List<Notification> notifications;
+    private List<AuditLog> auditLogs;
+
+    @Setup
+    public void setUp() throws Exception {
+        reflectiveMapper = mapperBuilder().build();
+        Jackson2ObjectMapperBuilder fast = mapperBuilder();
+        new JacksonConfig().fastResponseSerializers().customize(fast);
+        fastMapper = fast.build();
+
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 9, 30);
+        notifications = new ArrayList<>(pageSize);
+        auditLogs = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Notification n = Notification.builder()
+                    .type(NotificationType.PAYMENT_OVERDUE)
+                    .title("Payment overdue")
+                    .message("Your EMI #" + i + " for loan 1042 is overdue by 3 days")
+                    .relatedEntityType("LOAN")
+                    .relatedEntityId(1042L)
+                    .actionUrl("/loans/1042")
+                    .build();
+            n.setId((long) i);
+            n.setCreatedAt(now.minusMinutes(i));
+            notifications.add(n);
+
+            AuditLog log = AuditLog.builder()
+                    .userId(17L)
+                    .userEmail("lender@example.com")
+                    .userRole("LENDER")
+                    .action(AuditAction.UPDATE)
+                    .entityType("LOAN")
+                    .entityId(1042L)
+                    .description("Loan status changed from PENDING to ACTIVE")
+                    .ipAddress("10.0.0.12")
+                    .build();
+            log.setId((long) i);
+            log.setTimestamp(now.minusMinutes(i));
+            auditLogs.add(log);
+        }
+        if (!sameJson(notificationsFast(), notificationsReflective())
+                || !sameJson(auditLogsFast(), auditLogsReflective())) {
+            throw new IllegalStateException("Fast serializers no longer match the reflective output");
+        }
+    }
+
+    @Benchmark
+    public byte[] notificationsAsMaps() throws Exception {
+        List<Map<String, Object>> page = new ArrayList<>(notifications.size());
+        for (Notification n : notifications) {
+            page.add(mapNotification(n));
+        }
+        return reflectiveMapper.writeValueAsBytes(ApiResponse.success(page));
+    }
+
+    @Benchmark
+    public byte[] notificationsReflective() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(ApiResponse.success(
+                notifications.stream().map(NotificationResponse::fromEntity).toList()));
+    }
+
+    @Benchmark
+    public byte[] notificationsFast() throws Exception {
+        return fastMapper.writeValueAsBytes(ApiResponse.success(
+                notifications.stream().map(NotificationResponse::fromEntity).toList()));
+    }
+
+    @Benchmark
+    public byte[] auditLogsAsMaps() throws Exception {
+        List<Map<String, Object>> page = new ArrayList<>(auditLogs.size());
+        for (AuditLog log : auditLogs) {
+            page.add(mapAuditLog(log));
+        }
+        return reflectiveMapper.writeValueAsBytes(ApiResponse.success(page));
+    }
+
+    @Benchmark
+    public byte[] auditLogsReflective() throws Exception {
+        return reflectiveMapper.writeValueAsBytes(ApiResponse.success(
+                auditLogs.stream().map(AuditLogResponse::fromEntity).toList()));
+    }
+
+    @Benchmark
+    public byte[] auditLogsFast() throws Exception {
+        return fastMapper.writeValueAsBytes(ApiResponse.success(
+                auditLogs.stream().map(AuditLogResponse::fromEntity).toList()));
+    }
+
+    private boolean sameJson(byte[] a, byte[] b) throws Exception {
+        return reflectiveMapper.readTree(a).equals(reflectiveMapper.readTree(b));
+    }
+
+    // What Spring Boot's auto-configured builder sets for this application
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    // The controllers' former per-entity mapping
+    private static Map<String, Object> mapNotification(Notification n) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", n.getId());
+        map.put("type", n.getType().name());
+        map.put("title", n.getTitle());
+        map.put("message", n.getMessage());
+        map.put("isRead", n.isRead());
+        map.put("createdAt", n.getCreatedAt());
+        map.put("readAt", n.getReadAt());
+        map.put("relatedEntityType", n.getRelatedEntityType());
+        map.put("relatedEntityId", n.getRelatedEntityId());
+        map.put("actionUrl", n.getActionUrl());
+        return map;
+    }
+
+    private static Map<String, Object> mapAuditLog(AuditLog log) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", log.getId());
+        map.put("userId", log.getUserId());
+        map.put("userEmail", log.getUserEmail());
+        map.put("userRole", log.getUserRole());
+        map.put("action", log.getAction().name());
+        map.put("entityType", log.getEntityType());
+        map.put("entityId", log.getEntityId());
+        map.put("description", log.getDescription());
+        map.put("timestamp", log.getTimestamp());
+        map.put("ipAddress", log.getIpAddress());
+        return map;
+    }
+}
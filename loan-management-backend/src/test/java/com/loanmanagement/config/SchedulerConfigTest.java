@@ -0,0 +1,25 @@
+package com.loanmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SchedulerConfigTest {
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void asyncRequestsRunOnTheBoundedPool() {
+        Object executor = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+
+        assertThat(executor).isInstanceOf(ThreadPoolTaskExecutor.class);
+        assertThat(((ThreadPoolTaskExecutor) executor).getThreadNamePrefix()).isEqualTo("mvc-async-");
+    }
+}
@@ -0,0 +1,101 @@
+package com.loanmanagement.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChunkedBackfillMigrationTest {
+
+    private Connection connection;
+    private Context context;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "");
+        context = mock(Context.class);
+        when(context.getConnection()).thenReturn(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, divisor INT NOT NULL, score INT)");
+            for (int id = 1; id <= 35; id++) {
+                statement.execute("INSERT INTO accounts (id, divisor) VALUES (" + id + ", 1)");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void fillsEveryChunk() throws Exception {
+        new V900__BackfillScores().migrate(context);
+
+        assertThat(count("score IS NULL")).isZero();
+        assertThat(count("score = 100")).isEqualTo(35);
+    }
+
+    @Test
+    void failedRunKeepsCommittedChunksAndResumes() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE accounts SET divisor = 0 WHERE id = 25");
+        }
+
+        assertThatThrownBy(() -> new V900__BackfillScores().migrate(context)).isInstanceOf(SQLException.class);
+        // Chunks 1..10 and 11..20 were committed; the failing chunk 21..30 rolled back
+        assertThat(count("score IS NOT NULL")).isEqualTo(20);
+        assertThat(count("id BETWEEN 21 AND 30 AND score IS NOT NULL")).isZero();
+        assertThat(connection.getAutoCommit()).isTrue();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE accounts SET divisor = 1 WHERE id = 25");
+            // Marks the committed rows, so the retry can be seen to leave them alone
+            statement.execute("UPDATE accounts SET score = 7 WHERE score IS NOT NULL");
+        }
+        new V900__BackfillScores().migrate(context);
+
+        assertThat(count("score IS NULL")).isZero();
+        assertThat(count("score = 7")).isEqualTo(20);
+        assertThat(count("score = 100")).isEqualTo(15);
+    }
+
+    private long count(String where) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM accounts WHERE " + where)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // Sample backfill: skips filled rows, so a retry only touches what is left
+    private static final class V900__BackfillScores extends ChunkedBackfillMigration {
+
+        @Override
+        protected String table() {
+            return "accounts";
+        }
+
+        @Override
+        protected String updateSql() {
+            return "UPDATE accounts SET score = 100 / divisor WHERE id BETWEEN ? AND ? AND score IS NULL";
+        }
+
+        @Override
+        protected int chunkSize() {
+            return 10;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.loanmanagement.migration;
+
+import org.flywaydb.core.Flyway;
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlywayMigrationsTest {
+
+    @Test
+    void freshDatabaseGetsTheFullSchema() throws SQLException {
+        String url = newDatabase();
+
+        flyway(url).migrate();
+
+        assertFullSchema(url);
+    }
+
+    @Test
+    void databaseFromBeforeFlywayIsBaselinedAndBroughtUpToDate() throws Exception {
+        String url = newDatabase();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                InputStreamReader v1 = new InputStreamReader(getClass().getResourceAsStream(
+                        "/db/migration/common/V1__baseline.sql"), StandardCharsets.UTF_8)) {
+            // What hibernate ddl-auto left behind before the series
+            RunScript.execute(connection, v1);
+            connection.createStatement().execute(
+                    "INSERT INTO users (email, password, first_name, last_name, role, enabled, created_at) "
+                            + "VALUES ('old@example.com', 'x', 'Old', 'User', 'BORROWER', TRUE, CURRENT_TIMESTAMP)");
+        }
+
+        flyway(url).migrate();
+
+        assertFullSchema(url);
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                ResultSet rs = connection.createStatement().executeQuery(
+                        "SELECT token_version FROM users WHERE email = 'old@example.com'")) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getInt(1)).isZero();
+        }
+    }
+
+    private static Flyway flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .javaMigrations(new V1_2__SeriesIndexes(), new V2__PartialIndexes(), new V4__NotificationInboxIndexes())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private static void assertFullSchema(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement statement = connection.createStatement()) {
+            assertThat(count(statement, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                    + "WHERE TABLE_NAME IN ('REFRESH_TOKENS', 'PORTFOLIO_SNAPSHOTS')")).isEqualTo(2);
+            assertThat(count(statement, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_NAME = 'USERS' AND COLUMN_NAME = 'TOKEN_VERSION'")).isEqualTo(1);
+            assertThat(count(statement, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME IN "
+                    + "('IDX_LOAN_STATUS', 'IDX_PAYMENT_DUE_STATUS', 'IDX_EMI_DUE_STATUS', "
+                    + "'IDX_NOTIFICATION_USER_CREATED', 'IDX_REFRESH_TOKENS_USER_ID')")).isEqualTo(5);
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String newDatabase() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,92 @@
+package com.loanmanagement.repository;
+
+import com.loanmanagement.entity.EMIStatus;
+import com.loanmanagement.entity.LoanStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The scheduler and overdue scans must stay on their indexes. Each test runs the
+ * repository method, takes the SQL Hibernate generated for it and asks H2 for the plan
+ * with the same arguments, so a query rewrite that defeats the index fails here.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.loanmanagement.repository.QueryPlanTest$LastStatement")
+class QueryPlanTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    @Autowired
+    private EMIScheduleRepository emiScheduleRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overdueEmiScanUsesDueDateIndex() {
+        emiScheduleRepository.findAllOverdueEMIs(TODAY);
+
+        assertThat(plan(TODAY)).contains("IDX_EMI_DUE_STATUS");
+    }
+
+    @Test
+    void emisDueInRangeUseDueDateIndex() {
+        emiScheduleRepository.findEMIsDueInRange(TODAY, TODAY.plusDays(7));
+
+        assertThat(plan(TODAY, TODAY.plusDays(7))).contains("IDX_EMI_DUE_STATUS");
+    }
+
+    @Test
+    void emisDueTodayUseDueDateIndex() {
+        emiScheduleRepository.findByDueDateAndStatus(TODAY, EMIStatus.PENDING);
+
+        assertThat(plan(TODAY, EMIStatus.PENDING.name())).contains("IDX_EMI_DUE_STATUS");
+    }
+
+    @Test
+    void overduePaymentScanUsesDueDateIndex() {
+        paymentRepository.findOverduePayments(TODAY);
+
+        assertThat(plan(TODAY)).contains("IDX_PAYMENT_DUE_STATUS");
+    }
+
+    @Test
+    void loansByStatusUseStatusIndex() {
+        loanRepository.findByStatus(LoanStatus.ACTIVE);
+
+        assertThat(plan(LoanStatus.ACTIVE.name())).contains("IDX_LOAN_STATUS");
+    }
+
+    private String plan(Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.SQL.get(), String.class, args);
+    }
+
+    /**
+     * Remembers the last SQL statement Hibernate prepared on each thread, so scheduled
+     * jobs running in the background do not overwrite the one under test
+     */
+    public static class LastStatement implements StatementInspector {
+
+        static final ThreadLocal<String> SQL = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String statement) {
+            SQL.set(statement);
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.loanmanagement.security;
+
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyForJwtTokenGenerationThatIsLongEnoughForHmacSha";
+
+    private JwtTokenProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 600_000L);
+        provider.init();
+        user = User.builder().id(7L).email("user@example.com").role(Role.BORROWER).build();
+    }
+
+    @Test
+    void accessTokenIsAcceptedAsAccessTokenOnly() {
+        Claims claims = provider.parseClaims(provider.generateToken(user));
+
+        assertThat(provider.isAccessToken(claims)).isTrue();
+        assertThat(provider.isRefreshToken(claims)).isFalse();
+        assertThat(provider.toPrincipal(claims).getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void refreshTokenIsNotAnAccessToken() {
+        String token = provider.generateRefreshToken(user, "jti-1", Instant.now().plusSeconds(600));
+        Claims claims = provider.parseClaims(token);
+
+        assertThat(provider.isAccessToken(claims)).isFalse();
+        assertThat(provider.isRefreshToken(claims)).isTrue();
+    }
+
+    @Test
+    void untypedTokenWithIdIsNeitherType() {
+        Claims claims = provider.parseClaims(sign(Jwts.builder().id("jti-2").subject(user.getEmail())));
+
+        assertThat(provider.isAccessToken(claims)).isFalse();
+        assertThat(provider.isRefreshToken(claims)).isFalse();
+    }
+
+    @Test
+    void untypedTokenWithoutIdIsTreatedAsLegacyAccessToken() {
+        Claims claims = provider.parseClaims(sign(Jwts.builder().subject(user.getEmail())));
+
+        assertThat(provider.isAccessToken(claims)).isTrue();
+        assertThat(provider.isRefreshToken(claims)).isFalse();
+    }
+
+    private String sign(io.jsonwebtoken.JwtBuilder builder) {
+        return builder
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
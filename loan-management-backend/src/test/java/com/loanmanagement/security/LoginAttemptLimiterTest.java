@@ -0,0 +1,75 @@
+package com.loanmanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptLimiterTest {
+
+    private final LoginAttemptLimiter limiter = new LoginAttemptLimiter(3, 4, 15, 100_000);
+
+    @Test
+    void reportsEmailCrossingOnce() {
+        assertThat(limiter.recordFailure("a@example.com", "10.0.1.1")).isEqualTo(LoginAttemptLimiter.Threshold.NONE);
+        assertThat(limiter.recordFailure("a@example.com", "10.0.1.2")).isEqualTo(LoginAttemptLimiter.Threshold.NONE);
+        assertThat(limiter.recordFailure("a@example.com", "10.0.1.3")).isEqualTo(LoginAttemptLimiter.Threshold.EMAIL);
+        assertThat(limiter.recordFailure("a@example.com", "10.0.1.4")).isEqualTo(LoginAttemptLimiter.Threshold.NONE);
+        assertThat(limiter.isBlocked("A@example.com", null)).isTrue();
+    }
+
+    @Test
+    void reportsIpCrossingAcrossEmails() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.recordFailure("user" + i + "@example.com", "10.0.0.2"))
+                    .isEqualTo(LoginAttemptLimiter.Threshold.NONE);
+        }
+        assertThat(limiter.recordFailure("user3@example.com", "10.0.0.2")).isEqualTo(LoginAttemptLimiter.Threshold.IP);
+        assertThat(limiter.recordFailure("user4@example.com", "10.0.0.2")).isEqualTo(LoginAttemptLimiter.Threshold.NONE);
+        assertThat(limiter.isBlocked("someone@example.com", "10.0.0.2")).isTrue();
+        assertThat(limiter.isBlocked("someone@example.com", "10.0.0.3")).isFalse();
+    }
+
+    @Test
+    void manyFailingEmailsDoNotLockOutAnUntouchedOne() {
+        // Two failures each, below the email limit, from IPs that stay below theirs
+        for (int i = 0; i < 40_000; i++) {
+            String ip = "10.1." + i / 256 + "." + i % 256;
+            limiter.recordFailure("user" + i + "@example.com", ip);
+            limiter.recordFailure("user" + i + "@example.com", ip);
+        }
+
+        assertThat(limiter.failuresForEmail("untouched@example.com")).isZero();
+        assertThat(limiter.isBlocked("untouched@example.com", "10.2.0.1")).isFalse();
+        assertThat(limiter.isBlocked("user7@example.com", "10.2.0.1")).isFalse();
+        assertThat(limiter.failuresForEmail("user7@example.com")).isEqualTo(2);
+    }
+
+    @Test
+    void failuresSlideOutOfTheWindowAndAreEvicted() {
+        LoginAttemptLimiter oneKey = new LoginAttemptLimiter(3, 4, 15, 1);
+        long start = 1_000_000_000L;
+        for (int i = 0; i < 3; i++) {
+            oneKey.recordFailure("a@example.com", null, start);
+        }
+        assertThat(oneKey.isBlocked("a@example.com", null, start)).isTrue();
+
+        long later = start + 15 * 60_000L;
+        assertThat(oneKey.isBlocked("a@example.com", null, later)).isFalse();
+        oneKey.recordFailure("b@example.com", null, later);
+        assertThat(oneKey.trackedKeys()).isEqualTo(1);
+        assertThat(oneKey.isBlocked("b@example.com", null, later)).isFalse();
+    }
+
+    @Test
+    void fullTableStopsTrackingNewKeysInsteadOfBlocking() {
+        LoginAttemptLimiter small = new LoginAttemptLimiter(3, 4, 15, 2);
+        small.recordFailure("a@example.com", null);
+        small.recordFailure("b@example.com", null);
+        for (int i = 0; i < 3; i++) {
+            assertThat(small.recordFailure("c@example.com", null)).isEqualTo(LoginAttemptLimiter.Threshold.NONE);
+        }
+
+        assertThat(small.isBlocked("c@example.com", null)).isFalse();
+        assertThat(small.failuresForEmail("a@example.com")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.loanmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter =
+            new RateLimitFilter(new ObjectMapper(), new SimpleMeterRegistry(), true, 10, 2, 1, 5, 1, 60, 60);
+
+    @Test
+    void jobPollingDoesNotUseTheGeneratorBudget() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(status("GET", "/api/reports/jobs/abc")).isEqualTo(200);
+            assertThat(status("GET", "/api/reports/jobs/abc/download")).isEqualTo(200);
+        }
+
+        assertThat(status("POST", "/api/reports/jobs")).isEqualTo(200);
+        assertThat(status("GET", "/api/reports/loans")).isEqualTo(200);
+        assertThat(status("GET", "/api/analyst/reports/risk")).isEqualTo(429);
+    }
+
+    @Test
+    void jobPollingHasItsOwnLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            status("GET", "/api/reports/jobs/abc");
+        }
+
+        assertThat(status("GET", "/api/reports/jobs/abc")).isEqualTo(429);
+        assertThat(status("POST", "/api/reports/jobs")).isEqualTo(200);
+    }
+
+    private int status(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,74 @@
+package com.loanmanagement.security;
+
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final UserDetailsCache cache = new UserDetailsCache(100, 300, new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hitsReturnIndependentCopies() {
+        User first = cache.get(EMAIL, this::load).orElseThrow();
+        User second = cache.get(EMAIL, this::load).orElseThrow();
+        User third = cache.get(EMAIL, this::load).orElseThrow();
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(first).isNotSameAs(third);
+
+        second.setEnabled(false);
+        assertThat(cache.get(EMAIL, this::load).orElseThrow().isEnabled()).isTrue();
+        assertThat(third.getTokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidationInsideTransactionIsRepeatedAfterCommit() {
+        cache.get(EMAIL, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(EMAIL);
+        // A concurrent login reloads the old row before the change commits
+        cache.get(EMAIL, this::load);
+        assertThat(cache.size()).isEqualTo(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void loadRacingWithInvalidationIsNotCached() {
+        cache.get(EMAIL, email -> {
+            cache.invalidate(email);
+            return load(email);
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private Optional<User> load(String email) {
+        loads.incrementAndGet();
+        User user = User.builder().id(1L).email(email).password("hash").role(Role.BORROWER).enabled(true).build();
+        user.setTokenVersion(3);
+        return Optional.of(user);
+    }
+}
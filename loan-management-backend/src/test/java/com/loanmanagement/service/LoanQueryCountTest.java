@@ -0,0 +1,150 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.entity.Loan;
+import com.loanmanagement.entity.LoanStatus;
+import com.loanmanagement.entity.Role;
+import com.loanmanagement.entity.User;
+import com.loanmanagement.repository.LoanRepository;
+import com.loanmanagement.repository.UserRepository;
+import com.loanmanagement.service.report.ReportRowSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List pages and report reads must fetch borrower and lender with the loans, so the
+ * number of SQL statements does not grow with the number of rows.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.reports.page-size=10"
+})
+@Transactional
+class LoanQueryCountTest {
+
+    private static final int LOANS = 30;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private ReportRowSource reportRowSource;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User lender;
+    private User borrower;
+
+    @BeforeEach
+    void seed() {
+        // Every loan gets its own counterparty so lazily loaded parties would cost a query each
+        for (int i = 0; i < LOANS; i++) {
+            User offerer = user("qc-lender-" + i, Role.LENDER);
+            User taker = user("qc-borrower-" + i, Role.BORROWER);
+            loanRepository.save(Loan.builder()
+                    .lender(offerer)
+                    .borrower(i % 2 == 0 ? taker : null)
+                    .principalAmount(new BigDecimal("1000.00"))
+                    .interestRate(new BigDecimal("10.00"))
+                    .termMonths(12)
+                    .status(i % 2 == 0 ? LoanStatus.ACTIVE : LoanStatus.PENDING)
+                    .build());
+        }
+        lender = user("qc-lender", Role.LENDER);
+        borrower = user("qc-borrower", Role.BORROWER);
+        for (int i = 0; i < LOANS; i++) {
+            loanRepository.save(Loan.builder()
+                    .lender(lender)
+                    .borrower(borrower)
+                    .principalAmount(new BigDecimal("500.00"))
+                    .interestRate(new BigDecimal("8.00"))
+                    .termMonths(6)
+                    .status(LoanStatus.ACTIVE)
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void allLoansPageCostsOneStatementRegardlessOfSize() {
+        long small = statements(() -> loanService.getAllLoans(null, 5));
+        long large = statements(() -> loanService.getAllLoans(null, 40));
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void availableOffersPageCostsOneStatementRegardlessOfSize() {
+        long small = statements(() -> loanService.getAvailableLoanOffers(null, 2));
+        long large = statements(() -> loanService.getAvailableLoanOffers(null, 15));
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void lenderAndBorrowerListsCostOneStatement() {
+        assertThat(statements(() -> loanService.getLoansByLender(lender, null, 25))).isEqualTo(1);
+        assertThat(statements(() -> loanService.getLoansByBorrower(borrower))).isEqualTo(1);
+    }
+
+    @Test
+    void reportRowsCostOneStatementPerPage() {
+        long rows = loanRepository.count();
+        long statements = statements(() -> {
+            int read = 0;
+            for (Loan loan : reportRowSource.loans(null)) {
+                loan.getLender().getFullName();
+                if (loan.getBorrower() != null) {
+                    loan.getBorrower().getFullName();
+                }
+                read++;
+            }
+            return read;
+        });
+
+        // A full last page needs one more, empty, fetch to find the end
+        assertThat(statements).isEqualTo(rows / 10 + 1);
+    }
+
+    private long statements(Supplier<?> action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User user(String name, Role role) {
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("hash")
+                .firstName(name)
+                .lastName("Test")
+                .role(role)
+                .enabled(true)
+                .build());
+    }
+}
@@ -0,0 +1,155 @@
+package com.loanmanagement.service;
+
+import com.loanmanagement.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class NotificationHubTest {
+
+    private static final long USER = 7L;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationHub hub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        hub = new NotificationHub(queued::add, meterRegistry, 30, 3, 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(hub)).build();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void oneDrainDeliversBufferedEventsInOrder() throws Exception {
+        MockHttpServletResponse stream = connect(USER);
+        hub.publish(USER, "count", "1");
+        hub.publish(USER, "count", "2");
+
+        assertThat(queued).hasSize(1);
+        runQueued();
+
+        assertThat(stream.getContentAsString())
+                .containsSubsequence(":connected", "event:count\ndata:1", "event:count\ndata:2");
+    }
+
+    @Test
+    void fullBufferDropsTheOldestEvents() throws Exception {
+        MockHttpServletResponse stream = connect(USER);
+        for (int i = 1; i <= 4; i++) {
+            hub.publish(USER, "count", String.valueOf(i));
+        }
+        runQueued();
+
+        assertThat(stream.getContentAsString())
+                .doesNotContain(":connected", "data:1\n")
+                .containsSubsequence("data:2", "data:3", "data:4");
+        assertThat(meterRegistry.counter("notifications.sse.dropped").count()).isEqualTo(2);
+    }
+
+    @Test
+    void emptiedBufferHandsOffToTheNextPublisher() throws Exception {
+        MockHttpServletResponse stream = connect(USER);
+        runQueued();
+
+        hub.publish(USER, "count", "1");
+        assertThat(queued).hasSize(1);
+        runQueued();
+        hub.publish(USER, "count", "2");
+        assertThat(queued).hasSize(1);
+        runQueued();
+
+        assertThat(stream.getContentAsString()).containsSubsequence("data:1", "data:2");
+    }
+
+    @Test
+    void latestValueIsReadWhenTheEventIsSent() throws Exception {
+        MockHttpServletResponse stream = connect(USER);
+        AtomicInteger unread = new AtomicInteger(1);
+        hub.publishLatest(USER, "unread-count", unread::get);
+        unread.set(5);
+        runQueued();
+
+        assertThat(stream.getContentAsString()).contains("event:unread-count\ndata:5").doesNotContain("data:1");
+    }
+
+    @Test
+    void eventsInsideATransactionWaitForCommit() throws Exception {
+        MockHttpServletResponse stream = connect(USER);
+        runQueued();
+        NotificationResponse notification = new NotificationResponse();
+        notification.setId(41L);
+        notification.setTitle("Payment received");
+
+        TransactionSynchronizationManager.initSynchronization();
+        hub.publish(USER, notification);
+        assertThat(queued).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        runQueued();
+        assertThat(stream.getContentAsString()).contains("id:41\nevent:notification\ndata:{").contains("Payment received");
+    }
+
+    @Test
+    void oldestStreamIsClosedPastTheConnectionLimit() throws Exception {
+        MockHttpServletResponse first = connect(USER);
+        connect(USER);
+        connect(USER);
+        runQueued();
+
+        assertThat(hub.getConnectionCount()).isEqualTo(2);
+        hub.publish(USER, "count", "1");
+        runQueued();
+        assertThat(first.getContentAsString()).doesNotContain("data:1");
+    }
+
+    private MockHttpServletResponse connect(Long userId) throws Exception {
+        return mockMvc.perform(get("/stream/{userId}", userId)).andReturn().getResponse();
+    }
+
+    private void runQueued() {
+        while (!queued.isEmpty()) {
+            List<Runnable> tasks = new ArrayList<>(queued);
+            queued.clear();
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    @RestController
+    static class StreamController {
+        private final NotificationHub hub;
+
+        StreamController(NotificationHub hub) {
+            this.hub = hub;
+        }
+
+        @GetMapping("/stream/{userId}")
+        SseEmitter stream(@PathVariable Long userId) {
+            return hub.subscribe(userId);
+        }
+    }
+}
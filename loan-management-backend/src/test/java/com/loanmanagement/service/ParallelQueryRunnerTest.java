@@ -0,0 +1,106 @@
+package com.loanmanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelQueryRunnerTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private ThreadPoolTaskExecutor executor;
+    private ParallelQueryRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        runner = new ParallelQueryRunner(executor, transactionManager);
+        ReflectionTestUtils.setField(runner, "parallel", true);
+        ReflectionTestUtils.setField(runner, "timeoutMs", 2500L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectedQueryIsUnavailableAndNeverRunsOnCaller() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread[] ranOn = new Thread[1];
+
+        ParallelQueryRunner.Batch batch = runner.batch()
+                .submit("slow", () -> {
+                    await(release);
+                    return 1;
+                })
+                .submit("rejected", () -> {
+                    ranOn[0] = Thread.currentThread();
+                    return 2;
+                });
+        release.countDown();
+        ParallelQueryRunner.Results results = batch.await();
+
+        assertThat(results.getUnavailable()).containsExactly("rejected");
+        assertThat(results.get("slow", 0)).isEqualTo(1);
+        assertThat(ranOn[0]).isNull();
+    }
+
+    @Test
+    void queriesRunWithTransactionTimeoutOfRemainingBudget() {
+        ParallelQueryRunner.Results results = runner.batch().submit("count", () -> 42L).await();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definition.capture());
+        assertThat(results.get("count", 0L)).isEqualTo(42L);
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        assertThat(definition.getValue().getTimeout()).isBetween(1, 3);
+    }
+
+    @Test
+    void queryTimingOutIsReportedUnavailable() {
+        ReflectionTestUtils.setField(runner, "timeoutMs", 100L);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ParallelQueryRunner.Results results = runner.batch()
+                .submit("stuck", () -> {
+                    await(release);
+                    return 1;
+                })
+                .await();
+
+        assertThat(results.isPartial()).isTrue();
+        assertThat(results.isAvailable("stuck")).isFalse();
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
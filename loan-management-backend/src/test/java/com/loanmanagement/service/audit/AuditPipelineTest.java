@@ -0,0 +1,163 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AuditPipelineTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> stored = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean storeDown = new AtomicBoolean();
+    private AuditPipeline pipeline;
+    private boolean started;
+
+    @AfterEach
+    void stopPipeline() throws InterruptedException {
+        if (started) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void fullRingUnderDropCountsDroppedEvents() throws InterruptedException {
+        pipeline = pipeline(2, AuditPipeline.OverflowPolicy.DROP);
+        submit(0, 5);
+
+        assertThat(events("dropped")).isEqualTo(3);
+        assertThat(pipeline.getQueueDepth()).isEqualTo(2);
+        start();
+        pipeline.stop();
+        assertThat(stored).containsExactly("event-0", "event-1");
+    }
+
+    @Test
+    void overflowSpillIsReplayedOnceTheWriterRuns() {
+        pipeline = pipeline(2, AuditPipeline.OverflowPolicy.SPILL);
+        submit(0, 5);
+        assertThat(events("spilled")).isEqualTo(3);
+
+        start();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> stored.size() == 5);
+        assertThat(stored).containsExactlyInAnyOrder(names(0, 5));
+        assertThat(events("written")).isEqualTo(5);
+        await().atMost(Duration.ofSeconds(10)).until(() -> spillFiles() == 0);
+    }
+
+    @Test
+    void batchTheStoreRejectsIsSpilledAndReplayedAfterRecovery() {
+        storeDown.set(true);
+        pipeline = pipeline(16, AuditPipeline.OverflowPolicy.SPILL);
+        start();
+        submit(0, 3);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> events("spilled") == 3);
+        assertThat(stored).isEmpty();
+        storeDown.set(false);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> stored.size() == 3);
+        assertThat(stored).containsExactlyInAnyOrder(names(0, 3));
+    }
+
+    @Test
+    void stopDrainsQueuedEvents() throws InterruptedException {
+        pipeline = pipeline(1024, AuditPipeline.OverflowPolicy.DROP);
+        submit(0, 300);
+
+        start();
+        pipeline.stop();
+
+        assertThat(stored).containsExactly(names(0, 300));
+        assertThat(pipeline.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws InterruptedException {
+        pipeline = pipeline(64, AuditPipeline.OverflowPolicy.SPILL);
+        start();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 8; p++) {
+            int from = p * 1000;
+            producers.add(Thread.ofPlatform().start(() -> submit(from, from + 1000)));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        await().atMost(Duration.ofSeconds(20)).until(() -> stored.size() >= 8000);
+        pipeline.stop();
+        started = false;
+        assertThat(stored).hasSize(8000).containsExactlyInAnyOrder(names(0, 8000));
+    }
+
+    private AuditPipeline pipeline(int capacity, AuditPipeline.OverflowPolicy policy) {
+        AuditStore store = mock(AuditStore.class);
+        doAnswer(invocation -> {
+            if (storeDown.get()) {
+                throw new IllegalStateException("store down");
+            }
+            List<AuditLog> batch = invocation.getArgument(0);
+            batch.forEach(log -> stored.add(log.getDescription()));
+            return null;
+        }).when(store).append(anyList());
+        return new AuditPipeline(store, Jackson2ObjectMapperBuilder.json().build(), meterRegistry,
+                capacity, 50, 5, policy, 5, spillDir.toString(), 20);
+    }
+
+    private void start() {
+        pipeline.start();
+        started = true;
+    }
+
+    private void submit(int from, int to) {
+        for (int i = from; i < to; i++) {
+            AuditLog log = AuditLog.builder()
+                    .userId(1L)
+                    .action(AuditAction.UPDATE)
+                    .entityType("LOAN")
+                    .description("event-" + i)
+                    .build();
+            log.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0));
+            pipeline.submit(log);
+        }
+    }
+
+    private double events(String outcome) {
+        return meterRegistry.counter("audit.events", "outcome", outcome).count();
+    }
+
+    private long spillFiles() throws Exception {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.count();
+        }
+    }
+
+    private static String[] names(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "event-" + i).toArray(String[]::new);
+    }
+}
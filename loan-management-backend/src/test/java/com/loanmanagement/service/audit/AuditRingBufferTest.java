@@ -0,0 +1,76 @@
+package com.loanmanagement.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offerFailsOnceTheRoundedUpCapacityIsFull() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(3);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+
+        assertThat(ring.poll()).isZero();
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(List.of(ring.poll(), ring.poll(), ring.poll(), ring.poll())).containsExactly(1, 2, 3, 4);
+        assertThat(ring.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(1024);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!ring.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        BitSet seen = new BitSet(producers * perProducer);
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int received = 0;
+        while (received < producers * perProducer) {
+            Integer value = ring.poll();
+            if (value == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (seen.get(value)) {
+                fail("Duplicate " + value);
+            }
+            seen.set(value);
+            // Each producer's values come out in the order it offered them
+            if (value < last[value / perProducer]) {
+                fail(value + " came out after " + last[value / perProducer]);
+            }
+            last[value / perProducer] = value;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(seen.cardinality()).isEqualTo(producers * perProducer);
+        assertThat(ring.poll()).isNull();
+    }
+}
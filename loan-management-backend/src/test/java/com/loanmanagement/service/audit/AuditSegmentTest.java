@@ -0,0 +1,154 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSegmentTest {
+
+    private static final int RECORDS = 300;
+
+    @TempDir
+    Path dir;
+
+    private ByteBuffer encodeBuffer = ByteBuffer.allocate(256);
+
+    @Test
+    void sealedSegmentAnswersKeyLookupsFromItsIndexFile() throws IOException {
+        AuditSegment segment = AuditSegment.create(dir, 1);
+        appendAll(segment);
+        int[] loan7 = segment.positions(AuditSegment.entityKey("LOAN", 7L));
+        int[] user3 = segment.positions(AuditSegment.userKey(3L));
+        segment.seal();
+
+        assertThat(segment.positions(AuditSegment.entityKey("LOAN", 7L))).containsExactly(loan7);
+        assertThat(segment.positions(AuditSegment.userKey(3L))).containsExactly(user3);
+
+        AuditSegment reopened = AuditSegment.open(segmentFile());
+        assertThat(reopened.isSealed()).isTrue();
+        assertThat(reopened.recordCount()).isEqualTo(RECORDS);
+        assertThat(reopened.lastId()).isEqualTo(RECORDS);
+        assertThat(reopened.blocks()).hasSize((RECORDS + 63) / 64);
+        assertThat(reopened.positions(AuditSegment.entityKey("LOAN", 7L))).containsExactly(loan7);
+        assertThat(reopened.positions(AuditSegment.userKey(3L))).containsExactly(user3);
+        assertThat(reopened.positions(AuditSegment.loginKey("user0@example.com"))).hasSize(RECORDS / 10);
+        assertThat(reopened.positions(AuditSegment.entityKey("LOAN", 999L))).isEmpty();
+        for (int position : loan7) {
+            assertThat(reopened.read(position).getEntityId()).isEqualTo(7L);
+        }
+    }
+
+    @Test
+    void activeSegmentMapsAheadAndTrimsOnClose() throws IOException {
+        AuditSegment segment = AuditSegment.create(dir, 1);
+        append(segment, 1);
+        assertThat(segment.read(0).getId()).isEqualTo(1L);
+        long mappedLength = Files.size(segmentFile());
+
+        append(segment, 2);
+        int second = segment.positions(AuditSegment.userKey(2L))[0];
+        assertThat(segment.read(second).getId()).isEqualTo(2L);
+        assertThat(Files.size(segmentFile())).isEqualTo(mappedLength).isGreaterThan(segment.size());
+
+        segment.close();
+        assertThat(Files.size(segmentFile())).isEqualTo(segment.size());
+    }
+
+    @Test
+    void zeroPaddingLeftByACrashIsDroppedOnRecovery() throws IOException {
+        AuditSegment segment = AuditSegment.create(dir, 1);
+        appendAll(segment);
+        int size = segment.size();
+        segment.close();
+        Files.write(segmentFile(), new byte[4096], StandardOpenOption.APPEND);
+
+        AuditSegment recovered = AuditSegment.open(segmentFile());
+
+        assertThat(recovered.isSealed()).isFalse();
+        assertThat(recovered.recordCount()).isEqualTo(RECORDS);
+        assertThat(Files.size(segmentFile())).isEqualTo(size);
+        recovered.close();
+    }
+
+    @Test
+    void legacyIndexIsRebuiltInTheCurrentFormat() throws IOException {
+        AuditSegment segment = AuditSegment.create(dir, 1);
+        appendAll(segment);
+        int[] loan7 = segment.positions(AuditSegment.entityKey("LOAN", 7L));
+        segment.close();
+        Path index = dir.resolve("audit-00000000000000000001.idx");
+        Files.write(index, ByteBuffer.allocate(4).putInt(0x41494458).array());
+
+        AuditSegment reopened = AuditSegment.open(segmentFile());
+
+        assertThat(reopened.isSealed()).isTrue();
+        assertThat(reopened.positions(AuditSegment.entityKey("LOAN", 7L))).containsExactly(loan7);
+        assertThat(Arrays.copyOf(Files.readAllBytes(index), 4))
+                .isEqualTo(ByteBuffer.allocate(4).putInt(0x41494432).array());
+    }
+
+    @Test
+    void rolledBackRecordsAreNeitherVisibleNorRecovered() throws IOException {
+        AuditSegment segment = AuditSegment.create(dir, 1);
+        append(segment, 1);
+        int size = segment.size();
+
+        AuditLog uncommitted = AuditLog.builder().userId(9L).action(AuditAction.UPDATE).entityType("LOAN").build();
+        uncommitted.setId(2L);
+        uncommitted.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0));
+        encodeBuffer = AuditRecordCodec.encode(uncommitted, encodeBuffer);
+        segment.append(encodeBuffer, uncommitted);
+        assertThat(segment.size()).isEqualTo(size);
+        assertThat(segment.positions(AuditSegment.userKey(9L))).isEmpty();
+        segment.rollback();
+
+        append(segment, 3);
+        assertThat(segment.recordCount()).isEqualTo(2);
+        assertThat(segment.read(size).getId()).isEqualTo(3L);
+        segment.close();
+
+        AuditSegment reopened = AuditSegment.open(segmentFile());
+        assertThat(reopened.recordCount()).isEqualTo(2);
+        assertThat(reopened.lastId()).isEqualTo(3L);
+        assertThat(reopened.positions(AuditSegment.userKey(9L))).isEmpty();
+        reopened.close();
+    }
+
+    private void appendAll(AuditSegment segment) throws IOException {
+        for (long id = 1; id <= RECORDS; id++) {
+            append(segment, id);
+        }
+    }
+
+    private void append(AuditSegment segment, long id) throws IOException {
+        boolean login = id % 10 == 0;
+        AuditLog log = AuditLog.builder()
+                .userId(id % 5)
+                .userEmail("user" + (id % 5) + "@example.com")
+                .action(login ? AuditAction.LOGIN : AuditAction.UPDATE)
+                .entityType(login ? "AUTH" : "LOAN")
+                .entityId(login ? null : id % 20)
+                .newValue("{\"id\":" + id + "}")
+                .build();
+        log.setId(id);
+        log.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(id));
+        encodeBuffer = AuditRecordCodec.encode(log, encodeBuffer);
+        segment.append(encodeBuffer, log);
+        segment.commit();
+    }
+
+    private Path segmentFile() {
+        return dir.resolve("audit-00000000000000000001" + AuditSegment.SUFFIX);
+    }
+}
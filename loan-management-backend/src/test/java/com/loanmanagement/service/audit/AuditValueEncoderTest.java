@@ -0,0 +1,127 @@
+package com.loanmanagement.service.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditValueEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditValueEncoder diff = new AuditValueEncoder(objectMapper, "diff");
+    private final AuditValueEncoder full = new AuditValueEncoder(objectMapper, "full");
+
+    @Test
+    void updateStoresOnlyChangedFields() throws Exception {
+        AuditValueEncoder.Encoded encoded = diff.encode(
+                loan("ACTIVE", "1000.00", "first"), loan("CLOSED", "1000.00", "first"));
+
+        assertThat(AuditValueEncoder.isDiff(encoded.getOldValue())).isTrue();
+        assertThat(json(encoded.getOldValue().substring(1))).isEqualTo(json("{\"status\":\"ACTIVE\"}"));
+        assertThat(json(encoded.getNewValue().substring(1))).isEqualTo(json("{\"status\":\"CLOSED\"}"));
+    }
+
+    @Test
+    void createUpdateDeleteTrailRoundTrips() throws Exception {
+        Map<String, Object> v1 = loan("PENDING", "1000.00", "first");
+        Map<String, Object> v2 = loan("ACTIVE", "1000.00", "first");
+        Map<String, Object> v3 = loan("ACTIVE", "750.00", null);
+        v3.remove("note");
+        v3.put("closedBy", "lender");
+
+        AuditValueEncoder.Encoded create = diff.encode(null, v1);
+        AuditValueEncoder.Encoded update1 = diff.encode(v1, v2);
+        AuditValueEncoder.Encoded update2 = diff.encode(v2, v3);
+        AuditValueEncoder.Encoded delete = diff.encode(v3, null);
+
+        AuditValueEncoder.Reconstructed r1 = diff.reconstruct(null, create.getOldValue(), create.getNewValue());
+        AuditValueEncoder.Reconstructed r2 = diff.reconstruct(r1.getStateAfter(), update1.getOldValue(), update1.getNewValue());
+        AuditValueEncoder.Reconstructed r3 = diff.reconstruct(r2.getStateAfter(), update2.getOldValue(), update2.getNewValue());
+        AuditValueEncoder.Reconstructed r4 = diff.reconstruct(r3.getStateAfter(), delete.getOldValue(), delete.getNewValue());
+
+        assertThat(r1.getOldValue()).isNull();
+        assertThat(json(r1.getNewValue())).isEqualTo(tree(v1));
+        assertThat(json(r2.getOldValue())).isEqualTo(tree(v1));
+        assertThat(json(r2.getNewValue())).isEqualTo(tree(v2));
+        assertThat(json(r3.getOldValue())).isEqualTo(withNull(tree(v2), "closedBy"));
+        assertThat(json(r3.getNewValue())).isEqualTo(withNull(tree(v3), "note"));
+        assertThat(json(r4.getOldValue())).isEqualTo(tree(v3));
+        assertThat(r4.getNewValue()).isNull();
+        assertThat(r4.getStateAfter()).isNull();
+    }
+
+    @Test
+    void updateAfterDeleteStartsFromNothing() throws Exception {
+        Map<String, Object> v1 = loan("ACTIVE", "1000.00", "first");
+        Map<String, Object> v2 = loan("CLOSED", "1000.00", "first");
+        AuditValueEncoder.Encoded update = diff.encode(v1, v2);
+
+        AuditValueEncoder.Reconstructed deleted = diff.reconstruct(tree(v1), full.encode(v1, null).getOldValue(), null);
+        AuditValueEncoder.Reconstructed r = diff.reconstruct(deleted.getStateAfter(), update.getOldValue(), update.getNewValue());
+
+        assertThat(json(r.getNewValue())).isEqualTo(json("{\"status\":\"CLOSED\"}"));
+    }
+
+    @Test
+    void diffWithoutBaseRebuildsOnlyTheChangedFields() throws Exception {
+        AuditValueEncoder.Encoded update = diff.encode(
+                loan("ACTIVE", "1000.00", "first"), loan("ACTIVE", "900.00", "first"));
+
+        AuditValueEncoder.Reconstructed r = diff.reconstruct(null, update.getOldValue(), update.getNewValue());
+
+        assertThat(json(r.getOldValue())).isEqualTo(json("{\"balance\":\"1000.00\"}"));
+        assertThat(json(r.getNewValue())).isEqualTo(json("{\"balance\":\"900.00\"}"));
+    }
+
+    @Test
+    void fullModeAndNonObjectValuesAreStoredWhole() throws Exception {
+        Map<String, Object> v1 = loan("ACTIVE", "1000.00", "first");
+        Map<String, Object> v2 = loan("CLOSED", "1000.00", "first");
+
+        AuditValueEncoder.Encoded inFull = full.encode(v1, v2);
+        AuditValueEncoder.Encoded scalar = diff.encode("ACTIVE", "CLOSED");
+
+        assertThat(json(inFull.getOldValue())).isEqualTo(tree(v1));
+        assertThat(json(inFull.getNewValue())).isEqualTo(tree(v2));
+        assertThat(scalar.getOldValue()).isEqualTo("\"ACTIVE\"");
+        assertThat(scalar.getNewValue()).isEqualTo("\"CLOSED\"");
+        AuditValueEncoder.Reconstructed r = full.reconstruct(null, inFull.getOldValue(), inFull.getNewValue());
+        assertThat(r.getNewValue()).isEqualTo(inFull.getNewValue());
+        assertThat(r.getStateAfter()).isEqualTo(tree(v2));
+    }
+
+    @Test
+    void legacyPlainTextValuesPassThrough() {
+        AuditValueEncoder.Reconstructed r = diff.reconstruct(null, "Loan[status=ACTIVE]", "Loan[status=CLOSED]");
+
+        assertThat(r.getOldValue()).isEqualTo("Loan[status=ACTIVE]");
+        assertThat(r.getNewValue()).isEqualTo("Loan[status=CLOSED]");
+        assertThat(r.getStateAfter()).isNull();
+    }
+
+    private static Map<String, Object> loan(String status, String balance, String note) {
+        Map<String, Object> loan = new LinkedHashMap<>();
+        loan.put("id", 42);
+        loan.put("status", status);
+        loan.put("balance", balance);
+        loan.put("note", note);
+        return loan;
+    }
+
+    private ObjectNode tree(Map<String, Object> value) {
+        return objectMapper.valueToTree(value);
+    }
+
+    private JsonNode json(String value) throws Exception {
+        return objectMapper.readTree(value);
+    }
+
+    private static ObjectNode withNull(ObjectNode node, String field) {
+        return node.deepCopy().putNull(field);
+    }
+}
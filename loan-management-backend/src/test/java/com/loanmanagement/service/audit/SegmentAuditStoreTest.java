@@ -0,0 +1,58 @@
+package com.loanmanagement.service.audit;
+
+import com.loanmanagement.entity.AuditAction;
+import com.loanmanagement.entity.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SegmentAuditStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void failedBatchLeavesNothingBehind() throws IOException {
+        SegmentAuditStore store = new SegmentAuditStore(dir.toString(), 64, false);
+        store.open();
+        store.append(List.of(event(1L)));
+
+        // No action: encoding the second event fails after the first was written
+        AuditLog broken = event(3L);
+        broken.setAction(null);
+        List<AuditLog> failed = List.of(event(2L), broken);
+        assertThatThrownBy(() -> store.append(failed)).isInstanceOf(NullPointerException.class);
+        assertThat(failed).allMatch(log -> log.getId() == null);
+
+        store.append(List.of(event(4L)));
+        assertThat(store.findRecent(0, 10).getContent())
+                .extracting(AuditLog::getId, AuditLog::getUserId)
+                .containsExactly(tuple(2L, 4L), tuple(1L, 1L));
+        store.close();
+
+        SegmentAuditStore reopened = new SegmentAuditStore(dir.toString(), 64, false);
+        reopened.open();
+        assertThat(reopened.findRecent(0, 10).getTotalElements()).isEqualTo(2);
+        assertThat(reopened.findByUser(2L)).isEmpty();
+        reopened.close();
+    }
+
+    private static AuditLog event(Long userId) {
+        AuditLog log = AuditLog.builder()
+                .userId(userId)
+                .action(AuditAction.UPDATE)
+                .entityType("LOAN")
+                .entityId(7L)
+                .build();
+        log.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(userId));
+        return log;
+    }
+}
@@ -0,0 +1,154 @@
+package com.loanmanagement.service.report;
+
+import com.loanmanagement.exception.ResourceNotFoundException;
+import com.loanmanagement.repository.LoanRepository;
+import com.loanmanagement.repository.PaymentRepository;
+import com.loanmanagement.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportJobServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private final CsvReportGenerator csvGenerator = mock(CsvReportGenerator.class);
+    private ReportJobService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReportRowSource rowSource = mock(ReportRowSource.class);
+        LoanRepository loanRepository = mock(LoanRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(rowSource.loans(any())).thenReturn(List.of());
+        when(loanRepository.count()).thenReturn(0L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        TaskExecutor executor = queued::add;
+        service = new ReportJobService(executor, mock(PdfReportGenerator.class), mock(ExcelReportGenerator.class),
+                csvGenerator, rowSource, loanRepository, mock(PaymentRepository.class),
+                mock(TransactionRepository.class), transactionManager);
+        ReflectionTestUtils.setField(service, "storeDir", dir.toString());
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        service.initStore();
+    }
+
+    @Test
+    void identicalActiveRequestsShareOneJobPerUser() {
+        ReportJob first = submit("alice");
+        ReportJob again = submit("alice");
+        ReportJob other = submit("bob");
+
+        assertThat(again).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(queued).hasSize(2);
+    }
+
+    @Test
+    void finishedJobIsNotReusedForANewRequest() {
+        doAnswer(writes("id,amount\n")).when(csvGenerator).writeLoanSummaryReport(any(), any());
+        ReportJob first = submit("alice");
+        runQueued();
+
+        assertThat(submit("alice")).isNotSameAs(first);
+    }
+
+    @Test
+    void jobsAreOnlyVisibleToTheirOwnerAndAdmins() {
+        ReportJob job = submit("alice");
+
+        assertThat(service.getJob(job.getId(), "alice", false)).isSameAs(job);
+        assertThat(service.getJob(job.getId(), "admin", true)).isSameAs(job);
+        assertThatThrownBy(() -> service.getJob(job.getId(), "bob", false))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void completedJobIsMovedFromPartFileToFinalName() throws IOException {
+        doAnswer(writes("id,amount\n")).when(csvGenerator).writeLoanSummaryReport(any(), any());
+        ReportJob job = submit("alice");
+        runQueued();
+
+        ReportJob completed = service.getCompletedJob(job.getId(), "alice", false);
+        assertThat(completed.getStatus()).isEqualTo(ReportJob.Status.COMPLETED);
+        assertThat(completed.getFile()).hasFileName(job.getId() + ".csv");
+        assertThat(Files.readString(completed.getFile())).isEqualTo("id,amount\n");
+        assertThat(files()).containsExactly(job.getId() + ".csv");
+    }
+
+    @Test
+    void failedJobLeavesNoPartialFile() throws IOException {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new UncheckedIOException(new IOException("disk full"));
+        }).when(csvGenerator).writeLoanSummaryReport(any(), any());
+        ReportJob job = submit("alice");
+        runQueued();
+
+        assertThat(job.getStatus()).isEqualTo(ReportJob.Status.FAILED);
+        assertThat(job.getExpiresAt()).isNotNull();
+        assertThat(files()).isEmpty();
+    }
+
+    @Test
+    void cleanupRemovesExpiredJobsAndTheirFiles() throws IOException {
+        ReflectionTestUtils.setField(service, "ttlMinutes", -1L);
+        doAnswer(writes("id,amount\n")).when(csvGenerator).writeLoanSummaryReport(any(), any());
+        ReportJob expired = submit("alice");
+        runQueued();
+        ReportJob active = submit("bob");
+
+        service.cleanupExpiredJobs();
+
+        assertThatThrownBy(() -> service.getJob(expired.getId(), "alice", false))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(service.getJob(active.getId(), "bob", false)).isSameAs(active);
+        assertThat(files()).isEmpty();
+    }
+
+    private ReportJob submit(String user) {
+        return service.submit(ReportJob.Type.LOANS, "csv", null, null, user);
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.map(p -> p.getFileName().toString()).toList();
+        }
+    }
+
+    private static org.mockito.stubbing.Answer<Void> writes(String content) {
+        return invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(content.getBytes(StandardCharsets.UTF_8));
+            return null;
+        };
+    }
+}
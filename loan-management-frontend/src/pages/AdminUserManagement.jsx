@@ -3,7 +3,9 @@ import { adminAPI } from '../services/api';
 
 const AdminUserManagement = () => {
     const [users, setUsers] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState('');
     const [selectedUser, setSelectedUser] = useState(null);
     const [filter, setFilter] = useState('ALL');
@@ -21,13 +23,15 @@ const AdminUserManagement = () => {
     const fetchUsers = async () => {
         try {
             setLoading(true);
-            let response;
             if (filter === 'ALL') {
-                response = await adminAPI.getUsers();
+                const response = await adminAPI.getUsers();
+                setUsers(response.data.data?.items || []);
+                setNextCursor(response.data.data?.nextCursor || null);
             } else {
-                response = await adminAPI.getUsersByRole(filter);
+                const response = await adminAPI.getUsersByRole(filter);
+                setUsers(response.data.data || []);
+                setNextCursor(null);
             }
-            setUsers(response.data.data || []);
         } catch (err) {
             setError('Failed to load users');
         } finally {
@@ -35,6 +39,19 @@ const AdminUserManagement = () => {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await adminAPI.getUsers(nextCursor);
+            setUsers((prev) => [...prev, ...(response.data.data?.items || [])]);
+            setNextCursor(response.data.data?.nextCursor || null);
+        } catch (err) {
+            setError('Failed to load more users');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleViewCreditScore = async (user) => {
         try {
             const response = await adminAPI.getCreditScore(user.id);
@@ -217,6 +234,13 @@ const AdminUserManagement = () => {
                         </tbody>
                     </table>
                 </div>
+                {nextCursor && (
+                    <div style={{ textAlign: 'center', marginTop: '16px' }}>
+                        <button className="btn btn-secondary" onClick={loadMore} disabled={loadingMore}>
+                            Load more
+                        </button>
+                    </div>
+                )}
             </div>
 
             {/* Credit Score Modal */}
@@ -12,9 +12,12 @@ const BorrowerDashboard = () => {
     const [loans, setLoans] = useState([]);
     const [applications, setApplications] = useState([]);
     const [payments, setPayments] = useState([]);
+    const [paymentsCursor, setPaymentsCursor] = useState(null);
     const [offers, setOffers] = useState([]);
+    const [offersCursor, setOffersCursor] = useState(null);
     const [creditScore, setCreditScore] = useState(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState('');
 
     // Credit Score Form State
@@ -69,10 +72,12 @@ const BorrowerDashboard = () => {
                 setApplications(response.data.data || []);
             } else if (location.pathname === '/borrower/payments') {
                 const response = await borrowerAPI.getPayments();
-                setPayments(response.data.data || []);
+                setPayments(response.data.data?.items || []);
+                setPaymentsCursor(response.data.data?.nextCursor || null);
             } else if (location.pathname === '/borrower/offers') {
                 const response = await borrowerAPI.getLoanOffers();
-                setOffers(response.data.data || []);
+                setOffers(response.data.data?.items || []);
+                setOffersCursor(response.data.data?.nextCursor || null);
             } else if (location.pathname === '/borrower/credit-score') {
                 const response = await borrowerAPI.getCreditScore();
                 setCreditScore(response.data.data);
@@ -85,6 +90,33 @@ const BorrowerDashboard = () => {
         }
     };
 
+    // Lists are cursor-paginated; append the next page after the current one
+    const loadMorePayments = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await borrowerAPI.getPayments(paymentsCursor);
+            setPayments((prev) => [...prev, ...(response.data.data?.items || [])]);
+            setPaymentsCursor(response.data.data?.nextCursor || null);
+        } catch (err) {
+            setError('Failed to load more payments');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
+    const loadMoreOffers = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await borrowerAPI.getLoanOffers(offersCursor);
+            setOffers((prev) => [...prev, ...(response.data.data?.items || [])]);
+            setOffersCursor(response.data.data?.nextCursor || null);
+        } catch (err) {
+            setError('Failed to load more offers');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const formatCurrency = (amount) => {
         return new Intl.NumberFormat('en-US', {
             style: 'currency',
@@ -358,7 +390,8 @@ const BorrowerDashboard = () => {
             alert('Payment marked as paid. Awaiting lender approval.');
             // Refresh payments
             const response = await borrowerAPI.getPayments();
-            setPayments(response.data.data || []);
+            setPayments(response.data.data?.items || []);
+            setPaymentsCursor(response.data.data?.nextCursor || null);
         } catch (err) {
             console.error('Error marking payment:', err);
             alert(err.response?.data?.message || 'Failed to mark payment as paid');
@@ -467,6 +500,13 @@ const BorrowerDashboard = () => {
                         </table>
                     </div>
                 )}
+                {paymentsCursor && (
+                    <div style={{ textAlign: 'center', marginTop: '16px' }}>
+                        <button className="btn btn-secondary" onClick={loadMorePayments} disabled={loadingMore}>
+                            Load more
+                        </button>
+                    </div>
+                )}
             </div>
         );
     }
@@ -536,6 +576,13 @@ const BorrowerDashboard = () => {
                         ))}
                     </div>
                 )}
+                {offersCursor && (
+                    <div style={{ textAlign: 'center', marginTop: '16px' }}>
+                        <button className="btn btn-secondary" onClick={loadMoreOffers} disabled={loadingMore}>
+                            Load more
+                        </button>
+                    </div>
+                )}
             </div>
         );
     }
@@ -4,7 +4,9 @@ import { lenderAPI } from '../services/api';
 
 const LenderLoans = () => {
     const [loans, setLoans] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState('');
     const [filter, setFilter] = useState('ALL');
 
@@ -15,7 +17,8 @@ const LenderLoans = () => {
     const fetchLoans = async () => {
         try {
             const response = await lenderAPI.getLoans();
-            setLoans(response.data.data || []);
+            setLoans(response.data.data?.items || []);
+            setNextCursor(response.data.data?.nextCursor || null);
         } catch (err) {
             setError('Failed to load loans');
         } finally {
@@ -23,6 +26,19 @@ const LenderLoans = () => {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await lenderAPI.getLoans(nextCursor);
+            setLoans((prev) => [...prev, ...(response.data.data?.items || [])]);
+            setNextCursor(response.data.data?.nextCursor || null);
+        } catch (err) {
+            setError('Failed to load more loans');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const formatCurrency = (amount) => {
         return new Intl.NumberFormat('en-IN', {
             style: 'currency',
@@ -152,6 +168,13 @@ const LenderLoans = () => {
                             </tbody>
                         </table>
                     </div>
+                    {nextCursor && (
+                        <div style={{ textAlign: 'center', marginTop: '16px' }}>
+                            <button className="btn btn-secondary" onClick={loadMore} disabled={loadingMore}>
+                                Load more
+                            </button>
+                        </div>
+                    )}
                 </div>
             )}
 
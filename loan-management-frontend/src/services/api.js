@@ -41,7 +41,7 @@ export const authAPI = {
 // Admin APIs
 export const adminAPI = {
     getDashboard: () => api.get('/admin/dashboard'),
-    getUsers: () => api.get('/admin/users'),
+    getUsers: (cursor) => api.get('/admin/users', { params: { cursor } }),
     getUsersByRole: (role) => api.get(`/admin/users/role/${role}`),
     getUserDetails: (id) => api.get(`/admin/users/${id}`),
     updateUser: (id, data) => api.put(`/admin/users/${id}`, data),
@@ -58,7 +58,7 @@ export const adminAPI = {
 export const lenderAPI = {
     getDashboard: () => api.get('/lender/dashboard'),
     createLoan: (data) => api.post('/lender/loans', data),
-    getLoans: () => api.get('/lender/loans'),
+    getLoans: (cursor) => api.get('/lender/loans', { params: { cursor } }),
     getLoan: (id) => api.get(`/lender/loans/${id}`),
     getApplications: () => api.get('/lender/applications'),
     approveApplication: (id) => api.post(`/lender/applications/${id}/approve`),
@@ -73,13 +73,13 @@ export const lenderAPI = {
 // Borrower APIs
 export const borrowerAPI = {
     getDashboard: () => api.get('/borrower/dashboard'),
-    getLoanOffers: () => api.get('/borrower/loan-offers'),
+    getLoanOffers: (cursor) => api.get('/borrower/loan-offers', { params: { cursor } }),
     submitApplication: (data) => api.post('/borrower/applications', data),
     getApplications: () => api.get('/borrower/applications'),
     getLoans: () => api.get('/borrower/loans'),
     getLoan: (id) => api.get(`/borrower/loans/${id}`),
     getPaymentSchedule: (id) => api.get(`/borrower/loans/${id}/schedule`),
-    getPayments: () => api.get('/borrower/payments'),
+    getPayments: (cursor) => api.get('/borrower/payments', { params: { cursor } }),
     makePayment: (data) => api.post('/borrower/payments', data),
     markPaymentAsPaid: (id, transactionRef) => api.post(`/borrower/payments/${id}/mark-paid?transactionReference=${transactionRef || ''}`),
     // Credit Score APIs
@@ -93,7 +93,7 @@ export const analystAPI = {
     getLoanAnalytics: () => api.get('/analyst/reports/loans'),
     getRiskAssessment: () => api.get('/analyst/reports/risk'),
     getPaymentAnalytics: () => api.get('/analyst/reports/payments'),
-    getAllLoans: () => api.get('/analyst/loans'),
+    getAllLoans: (cursor) => api.get('/analyst/loans', { params: { cursor } }),
     getLoan: (id) => api.get(`/analyst/loans/${id}`),
     getLoanPayments: (id) => api.get(`/analyst/loans/${id}/payments`),
     getOverduePayments: () => api.get('/analyst/overdue-payments'),